@@ -0,0 +1,79 @@
+package recipes.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import recipes.dto.request.RegisterUserRequest;
+import recipes.security.CachingAuthenticationProvider;
+import recipes.service.UserService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures basic authentication of a request
+ * with credentials already verified and with credentials which have to be verified by BCrypt
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+    private static final String USERNAME = "benchmark@mail.com";
+    private static final String PASSWORD = "benchmark-password";
+
+    private ConfigurableApplicationContext context;
+    private CachingAuthenticationProvider authenticationProvider;
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("authentication-benchmark");
+        authenticationProvider = context.getBean(CachingAuthenticationProvider.class);
+        passwordEncoder = context.getBean(PasswordEncoder.class);
+
+        UserService userService = context.getBean(UserService.class);
+        userService.registerUser(new RegisterUserRequest(USERNAME, PASSWORD));
+        encodedPassword = userService.findUserByUsername(USERNAME).getPassword();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication authenticateCached() {
+        return authenticationProvider.authenticate(credentials());
+    }
+
+    @Benchmark
+    public Authentication authenticateUncached() {
+        authenticationProvider.evict(USERNAME);
+        return authenticationProvider.authenticate(credentials());
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+    private static UsernamePasswordAuthenticationToken credentials() {
+        return UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD);
+    }
+}
@@ -0,0 +1,81 @@
+package recipes.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import recipes.RecipesApplication;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Application context and synthetic recipes shared by benchmarks
+ * <p>
+ * Every benchmark trial starts the whole application against its own in-memory H2 database,
+ * so measured code paths are exactly the ones serving HTTP requests.
+ * </p>
+ */
+final class BenchmarkApplication {
+    static final String[] WORDS = {
+            "warming", "ginger", "mint", "tea", "honey", "lemon", "cake", "chocolate", "vanilla", "spinach",
+            "omelette", "pancake", "soup", "tomato", "basil", "garlic", "roast", "chicken", "salad", "pie"
+    };
+    static final int CATEGORIES = 50;
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Start application without web server port conflicts and with empty DB
+     * Properties are passed as command line arguments to take precedence over {@code application.properties}.
+     * @param database - name of in-memory H2 database
+     * @param args - additional command line arguments, e.g. {@code --spring.profiles.active=...}
+     */
+    static ConfigurableApplicationContext start(String database, String... args) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop"));
+        arguments.addAll(List.of(args));
+        return new SpringApplicationBuilder(RecipesApplication.class).run(arguments.toArray(String[]::new));
+    }
+
+    /**
+     * Insert recipes with three-word names, one of {@value #CATEGORIES} categories,
+     * two ingredients and two directions each
+     * Same count always produces the same recipes.
+     * Recipe name index must be rebuilt afterwards.
+     * @param jdbcTemplate - template of application DB
+     * @param recipes - number of recipes
+     */
+    static void seedRecipes(JdbcTemplate jdbcTemplate, int recipes) {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+        for (int from = 0; from < recipes; from += SEED_BATCH_SIZE) {
+            int to = Math.min(recipes, from + SEED_BATCH_SIZE);
+            List<Object[]> recipeRows = new ArrayList<>(to - from);
+
+            for (int i = from; i < to; i++) {
+                long id = i + 1;
+                String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                        + " " + WORDS[random.nextInt(WORDS.length)];
+                String category = "category" + random.nextInt(CATEGORIES);
+                String ingredients = "[\"" + WORDS[random.nextInt(WORDS.length)] + "\",\""
+                        + WORDS[random.nextInt(WORDS.length)] + "\"]";
+                String directions = "[\"Prepare " + name + "\",\"Serve\"]";
+                recipeRows.add(new Object[]{id, name, category, category,
+                        Timestamp.valueOf(start.plusMinutes(i)), "Benchmark recipe " + i, ingredients, directions});
+            }
+
+            jdbcTemplate.batchUpdate("insert into RECIPE (ID, NAME, CATEGORY, CATEGORY_KEY, DATE, DESCRIPTION, " +
+                            "INGREDIENTS, DIRECTIONS) values (?, ?, ?, ?, ?, ?, ? format json, ? format json)",
+                    recipeRows);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package recipes.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import recipes.index.RecipeTrigramIndex;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures typo-tolerant name search through {@link RecipeTrigramIndex}
+ * <p>
+ * Names are three words out of {@link BenchmarkApplication#WORDS}, so many recipes share a name,
+ * or out of a vocabulary of a few thousand made up words as well, so nearly every name is distinct.
+ * The index is filled directly, without application context.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class FuzzyNameSearchBenchmark {
+    private static final String[] SYLLABLES = {
+            "ba", "ko", "ri", "man", "te", "sal", "po", "lin", "du", "ver", "ca", "mo", "ne", "tor", "gi", "fa"
+    };
+    private static final int MADE_UP_WORDS = 3000;
+    private static final int LIMIT = 20;
+    private static final double THRESHOLD = 0.5;
+
+    @Param({"100000", "1000000"})
+    public int recipes;
+
+    @Param({"shared", "distinct"})
+    public String names;
+
+    @Param({"chiken", "chocolat cake", "mint te"})
+    public String query;
+
+    private RecipeTrigramIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> vocabulary = new ArrayList<>(List.of(BenchmarkApplication.WORDS));
+        if (names.equals("distinct")) {
+            for (int i = 0; i < MADE_UP_WORDS; i++) {
+                vocabulary.add(SYLLABLES[random.nextInt(SYLLABLES.length)] + SYLLABLES[random.nextInt(SYLLABLES.length)]
+                        + SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+        }
+
+        index = new RecipeTrigramIndex(null);
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        for (int i = 0; i < recipes; i++) {
+            String name = vocabulary.get(random.nextInt(vocabulary.size())) + " "
+                    + vocabulary.get(random.nextInt(vocabulary.size())) + " "
+                    + vocabulary.get(random.nextInt(vocabulary.size()));
+            index.put(i + 1, name, start.plusMinutes(i));
+        }
+    }
+
+    @Benchmark
+    public List<Long> search() {
+        return index.search(query, THRESHOLD, LIMIT);
+    }
+}
@@ -0,0 +1,99 @@
+package recipes.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import recipes.dto.response.RecipesPage;
+import recipes.index.IngredientMatch;
+import recipes.index.RecipeIngredientIndex;
+import recipes.readmodel.RecipeReadModel;
+import recipes.service.RecipesService;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares search by ingredients through bitmaps of the ingredient index
+ * with SQL over the ingredients column
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngredientSearchBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000"})
+    public int recipes;
+
+    @Param({"honey", "honey,lemon"})
+    public String query;
+
+    @Param({"ALL", "ANY"})
+    public IngredientMatch match;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private RecipeIngredientIndex ingredientIndex;
+    private RecipesService recipesService;
+    private List<String> ingredients;
+    private Object[] patterns;
+    private String sql;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("ingredient-search-benchmark");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        ingredientIndex = context.getBean(RecipeIngredientIndex.class);
+        recipesService = context.getBean(RecipesService.class);
+
+        BenchmarkApplication.seedRecipes(jdbcTemplate, recipes);
+        ingredientIndex.rebuild();
+        context.getBean(RecipeReadModel.class).rebuild();
+
+        ingredients = Arrays.asList(query.split(","));
+        patterns = ingredients.stream().map(ingredient -> "%\"" + ingredient + "\"%").toArray();
+        // JSON text of ingredients contains quoted ingredient if it is one of them
+        String condition = "lower(cast(r.ingredients as varchar)) like ?";
+        sql = "select r.id from recipe r where "
+                + String.join(match == IngredientMatch.ALL ? " and " : " or ",
+                Collections.nCopies(ingredients.size(), condition))
+                + " order by r.date desc, r.id desc limit " + PAGE_SIZE;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> sqlIds() {
+        return jdbcTemplate.queryForList(sql, Long.class, patterns);
+    }
+
+    @Benchmark
+    public List<Long> indexIds() {
+        return ingredientIndex.search(ingredients, match, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public RecipesPage indexPage() {
+        return recipesService.searchRecipesByIngredients(ingredients, match, null, PAGE_SIZE);
+    }
+}
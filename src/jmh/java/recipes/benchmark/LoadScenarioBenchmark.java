@@ -0,0 +1,135 @@
+package recipes.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import recipes.dto.request.RegisterUserRequest;
+import recipes.index.RecipeNameIndex;
+import recipes.readmodel.RecipeReadModel;
+import recipes.service.UserService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load scenario comparing request handling on Tomcat's platform thread pool
+ * with the {@code virtual-threads} profile
+ * <p>
+ * {@value #CLIENTS} concurrent clients, more than Tomcat's 200 platform threads, send authenticated
+ * search and find-by-id requests over HTTP. Throughput mode reports requests per second,
+ * sample time mode reports latency percentiles (p0.50, p0.99, p0.999).
+ * Responses other than 200 and timed out requests are counted as {@code failed}, they don't stop the scenario.
+ * The {@code virtual-threads} profile requires Java 21, run with {@code ./gradlew jmh -Pjava21}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(LoadScenarioBenchmark.CLIENTS)
+public class LoadScenarioBenchmark {
+    static final int CLIENTS = 400;
+
+    private static final int RECIPES = 10_000;
+    private static final String USERNAME = "load@mail.com";
+    private static final String PASSWORD = "load-password";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    @Param({"default", "virtual-threads"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("load-scenario-benchmark", "--spring.profiles.active=" + profile);
+        BenchmarkApplication.seedRecipes(context.getBean(JdbcTemplate.class), RECIPES);
+        context.getBean(RecipeNameIndex.class).rebuild();
+        context.getBean(RecipeReadModel.class).rebuild();
+        context.getBean(UserService.class).registerUser(new RegisterUserRequest(USERNAME, PASSWORD));
+
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/recipe/";
+        authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int searchByCategory(Responses responses) throws IOException, InterruptedException {
+        int category = ThreadLocalRandom.current().nextInt(BenchmarkApplication.CATEGORIES);
+        return send("search?category=category" + category, responses);
+    }
+
+    @Benchmark
+    public int searchByName(Responses responses) throws IOException, InterruptedException {
+        String word = BenchmarkApplication.WORDS[ThreadLocalRandom.current().nextInt(BenchmarkApplication.WORDS.length)];
+        return send("search?name=" + word, responses);
+    }
+
+    @Benchmark
+    public int findById(Responses responses) throws IOException, InterruptedException {
+        return send(String.valueOf(ThreadLocalRandom.current().nextInt(RECIPES) + 1), responses);
+    }
+
+    private int send(String path, Responses responses) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status != 200) {
+                responses.failed++;
+            }
+            return status;
+        } catch (HttpTimeoutException e) {
+            responses.failed++;
+            return 0;
+        }
+    }
+
+    /**
+     * Number of failed requests per client, reported next to the primary result
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long failed;
+    }
+}
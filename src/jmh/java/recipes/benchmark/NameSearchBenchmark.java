@@ -0,0 +1,70 @@
+package recipes.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import recipes.entity.RecipeEntity;
+import recipes.index.RecipeNameIndex;
+import recipes.repository.RecipeRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares name search through the in-memory name index
+ * with the {@code lower(name) like %query%} scan it replaces
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NameSearchBenchmark {
+    @Param({"10000", "100000"})
+    public int recipes;
+
+    @Param({"chocolate", "cake", "mint tea"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private RecipeRepository repository;
+    private RecipeNameIndex nameIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("name-search-benchmark");
+        repository = context.getBean(RecipeRepository.class);
+        nameIndex = context.getBean(RecipeNameIndex.class);
+
+        BenchmarkApplication.seedRecipes(context.getBean(JdbcTemplate.class), recipes);
+        nameIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RecipeEntity> likeScan() {
+        return repository.findByNameContainingIgnoreCaseOrderByDateDesc(query);
+    }
+
+    @Benchmark
+    public Iterable<RecipeEntity> indexLookup() {
+        return repository.findAllById(nameIndex.search(query).orElseThrow());
+    }
+}
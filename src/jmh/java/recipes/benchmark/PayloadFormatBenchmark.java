@@ -0,0 +1,120 @@
+package recipes.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import recipes.dto.response.GetRecipeResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares serialization time and payload size of a search result page in JSON, CBOR and Smile,
+ * with and without gzip compression
+ * Payload size is reported as {@code payloadBytes} secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFormatBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectWriter writer;
+    private List<GetRecipeResponse> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        ObjectMapper objectMapper = switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, GetRecipeResponse.class));
+        page = recipes(PAGE_SIZE);
+    }
+
+    @Benchmark
+    public byte[] serialize(Payload payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            writer.writeValue(out, page);
+        }
+        payload.payloadBytes = bytes.size();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Size of the last serialized payload, reported as is rather than summed or divided by time
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+    }
+
+    /**
+     * Build recipes of realistic size: a paragraph of description, a dozen of ingredients
+     * and several sentences of directions
+     */
+    private static List<GetRecipeResponse> recipes(int count) {
+        Random random = new Random(42);
+        List<GetRecipeResponse> recipes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> ingredients = new ArrayList<>();
+            for (int j = 0; j < 12; j++) {
+                ingredients.add((random.nextInt(3) + 1) + " tablespoons of " + words(random, 2) + ", finely chopped");
+            }
+            List<String> directions = new ArrayList<>();
+            for (int j = 0; j < 6; j++) {
+                directions.add("Step " + (j + 1) + ": " + words(random, 18) + ".");
+            }
+            recipes.add(new GetRecipeResponse(words(random, 3), BenchmarkApplication.WORDS[random.nextInt(5)],
+                    LocalDateTime.of(2023, 9, 1, 12, 0).plusMinutes(i), words(random, 40) + ".",
+                    ingredients, directions));
+        }
+        return recipes;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(BenchmarkApplication.WORDS[random.nextInt(BenchmarkApplication.WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
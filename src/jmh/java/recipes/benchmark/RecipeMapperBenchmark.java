@@ -0,0 +1,82 @@
+package recipes.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.request.UpdateRecipeRequest;
+import recipes.dto.response.CreateRecipeResponse;
+import recipes.dto.response.GetRecipeResponse;
+import recipes.entity.RecipeEntity;
+import recipes.mapper.RecipeMapper;
+import recipes.mapper.RecipeMapperImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures {@link RecipeMapper} conversions between requests, entities and responses
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeMapperBenchmark {
+    /**
+     * Number of ingredients and of directions in a recipe
+     */
+    @Param({"5", "50"})
+    public int items;
+
+    private final RecipeMapper mapper = new RecipeMapperImpl();
+
+    private CreateRecipeRequest createRequest;
+    private UpdateRecipeRequest updateRequest;
+    private RecipeEntity entity;
+
+    @Setup
+    public void setUp() {
+        List<String> ingredients = IntStream.range(0, items).mapToObj(i -> "ingredient " + i).toList();
+        List<String> directions = IntStream.range(0, items).mapToObj(i -> "direction " + i).toList();
+
+        createRequest = new CreateRecipeRequest("Warming Ginger Tea", "beverage", "Ginger tea",
+                ingredients, directions);
+        updateRequest = new UpdateRecipeRequest("Iced Tea", "beverage", "Iced tea", ingredients, directions);
+        entity = new RecipeEntity(1L, "beverage", "beverage", LocalDateTime.of(2023, 1, 1, 0, 0), "Warming Ginger Tea",
+                null, "Ginger tea", ingredients, directions);
+    }
+
+    @Benchmark
+    public RecipeEntity toEntity() {
+        return mapper.toEntity(createRequest);
+    }
+
+    @Benchmark
+    public CreateRecipeResponse toCreateRecipeResponse() {
+        return mapper.toCreateRecipeResponse(entity);
+    }
+
+    @Benchmark
+    public GetRecipeResponse toGetRecipeResponse() {
+        return mapper.toGetRecipeResponse(entity);
+    }
+
+    @Benchmark
+    public RecipeEntity updateRecipeFromRequest() {
+        RecipeEntity target = new RecipeEntity();
+        mapper.updateRecipeFromRequest(updateRequest, target);
+        return target;
+    }
+}
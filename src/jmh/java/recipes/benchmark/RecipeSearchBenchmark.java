@@ -0,0 +1,99 @@
+package recipes.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import recipes.dto.response.RecipesPage;
+import recipes.index.RecipeNameIndex;
+import recipes.pagination.SearchCursor;
+import recipes.readmodel.RecipeReadModel;
+import recipes.service.RecipesService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RecipesService} search, first and next page, by name and by category
+ * Each page has the default page size and includes ingredients and directions of its recipes.
+ * Category search is cached, so it is measured both with the cache and without it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RecipeSearchBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int recipes;
+
+    @Param({"chocolate", "mint tea"})
+    public String name;
+
+    @Param({"category7"})
+    public String category;
+
+    /**
+     * {@code spring.cache.type}, {@code none} measures category search itself rather than cache hits
+     */
+    @Param({"none", "caffeine"})
+    public String cache;
+
+    private ConfigurableApplicationContext context;
+    private RecipesService recipesService;
+    private SearchCursor nameCursor;
+    private SearchCursor categoryCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("recipe-search-benchmark", "--spring.cache.type=" + cache);
+        recipesService = context.getBean(RecipesService.class);
+
+        BenchmarkApplication.seedRecipes(context.getBean(JdbcTemplate.class), recipes);
+        context.getBean(RecipeNameIndex.class).rebuild();
+        context.getBean(RecipeReadModel.class).rebuild();
+
+        nameCursor = nextCursor(recipesService.searchRecipesByName(name, null, null));
+        categoryCursor = nextCursor(recipesService.searchRecipesByCategory(category, null, null));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RecipesPage searchByName() {
+        return recipesService.searchRecipesByName(name, null, null);
+    }
+
+    @Benchmark
+    public RecipesPage searchByNameNextPage() {
+        return recipesService.searchRecipesByName(name, nameCursor, null);
+    }
+
+    @Benchmark
+    public RecipesPage searchByCategory() {
+        return recipesService.searchRecipesByCategory(category, null, null);
+    }
+
+    @Benchmark
+    public RecipesPage searchByCategoryNextPage() {
+        return recipesService.searchRecipesByCategory(category, categoryCursor, null);
+    }
+
+    private static SearchCursor nextCursor(RecipesPage page) {
+        return page.getNextCursor() == null ? null : SearchCursor.decode(page.getNextCursor());
+    }
+}
@@ -0,0 +1,136 @@
+package recipes.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import recipes.adapter.UserEntityAdapter;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.request.UpdateRecipeRequest;
+import recipes.dto.response.CreateRecipeResponse;
+import recipes.dto.response.GetRecipeResponse;
+import recipes.entity.RecipeEntity;
+import recipes.entity.UserEntity;
+import recipes.repository.UserRepository;
+import recipes.service.RecipesService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures reading and writing whole recipes, including ingredients and directions, through the DB
+ * Reads bypass caches, so every operation costs the statements of recipe storage itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeStorageBenchmark {
+    private static final int RECIPES = 10_000;
+    private static final int PAGE_SIZE = 20;
+    /**
+     * Page of recipes of a category, newest first, the way category search read it before the read model
+     */
+    private static final String CATEGORY_PAGE_QUERY = "select r from RecipeEntity r " +
+            "where r.categoryKey = :categoryKey order by r.date desc, r.id desc";
+
+    /**
+     * Number of ingredients and of directions in a written recipe
+     */
+    @Param({"3", "20"})
+    public int items;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private RecipesService recipesService;
+    private TransactionTemplate transactionTemplate;
+    private UserEntityAdapter author;
+    private CreateRecipeRequest createRequest;
+    private UpdateRecipeRequest updateRequest;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("recipe-storage-benchmark");
+        entityManager = context.getBean(EntityManager.class);
+        recipesService = context.getBean(RecipesService.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkApplication.seedRecipes(jdbcTemplate, RECIPES);
+        // seeded ids are inserted explicitly, created recipes must get ids after them,
+        // sequence value is the upper bound of the next block of ids
+        jdbcTemplate.execute("alter sequence " + RecipeEntity.ID_SEQUENCE + " restart with "
+                + (RECIPES + RecipeEntity.ID_ALLOCATION_SIZE));
+        UserEntity user = context.getBean(UserRepository.class)
+                .save(new UserEntity(null, "author@mail.com", "password"));
+        jdbcTemplate.update("update RECIPE set USER_ID = ?", user.getId());
+        author = new UserEntityAdapter(user);
+
+        List<String> ingredients = IntStream.range(0, items).mapToObj(i -> "ingredient " + i).toList();
+        List<String> directions = IntStream.range(0, items).mapToObj(i -> "direction " + i).toList();
+        createRequest = new CreateRecipeRequest("Ginger tea", "beverage", "Warming ginger tea",
+                ingredients, directions);
+        updateRequest = new UpdateRecipeRequest("Iced tea", "beverage", "Iced tea", ingredients, directions);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public GetRecipeResponse readRecipe() {
+        long id = nextId();
+        return transactionTemplate.execute(status ->
+                recipesService.toGetRecipeResponse(recipesService.getRecipeById(id)));
+    }
+
+    @Benchmark
+    public List<GetRecipeResponse> readPage() {
+        String category = "category" + nextId() % BenchmarkApplication.CATEGORIES;
+        return transactionTemplate.execute(status ->
+                entityManager.createQuery(CATEGORY_PAGE_QUERY, RecipeEntity.class)
+                        .setParameter("categoryKey", category)
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultStream()
+                        .map(recipesService::toGetRecipeResponse)
+                        .toList());
+    }
+
+    @Benchmark
+    public long updateRecipe() {
+        long id = nextId();
+        recipesService.updateRecipe(updateRequest, id, author);
+        return id;
+    }
+
+    @Benchmark
+    public CreateRecipeResponse createRecipe() {
+        return recipesService.createRecipe(createRequest, author);
+    }
+
+    /**
+     * Cycle through seeded recipes, so consecutive operations don't touch the same rows
+     */
+    private long nextId() {
+        nextId = nextId % RECIPES + 1;
+        return nextId;
+    }
+}
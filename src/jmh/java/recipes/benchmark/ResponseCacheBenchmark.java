@@ -0,0 +1,116 @@
+package recipes.benchmark;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import recipes.cache.RecipeResponseCache;
+import recipes.cache.SerializedRecipe;
+import recipes.cache.SerializedRecipeHttpMessageConverter;
+import recipes.config.ResponseCacheProperties;
+import recipes.entity.RecipeEntity;
+import recipes.mapper.RecipeMapper;
+import recipes.mapper.RecipeMapperImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares writing a recipe response from {@link RecipeResponseCache}
+ * with mapping and serializing the recipe on every request
+ * Run with {@code -PjmhProfilers=gc} to see allocation per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseCacheBenchmark {
+    /**
+     * Number of ingredients and of directions in a recipe
+     */
+    @Param({"5", "50"})
+    public int items;
+
+    @Param({"false", "true"})
+    public boolean offHeap;
+
+    private final RecipeMapper mapper = new RecipeMapperImpl();
+
+    private RecipeEntity entity;
+    private MappingJackson2HttpMessageConverter jsonConverter;
+    private SerializedRecipeHttpMessageConverter cachedConverter;
+    private SerializedRecipe cachedRecipe;
+    private final DiscardingOutputMessage outputMessage = new DiscardingOutputMessage();
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> ingredients = IntStream.range(0, items).mapToObj(i -> "ingredient " + i).toList();
+        List<String> directions = IntStream.range(0, items).mapToObj(i -> "direction " + i).toList();
+        entity = new RecipeEntity(1L, "beverage", "beverage", LocalDateTime.of(2023, 1, 1, 0, 0), "Warming Ginger Tea",
+                null, "Ginger tea", ingredients, directions);
+
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setOffHeap(offHeap);
+        jsonConverter = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+        cachedConverter = new SerializedRecipeHttpMessageConverter(
+                new RecipeResponseCache(properties, new SimpleMeterRegistry()),
+                jsonConverter,
+                new MappingJackson2CborHttpMessageConverter(
+                        Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()),
+                new MappingJackson2SmileHttpMessageConverter(
+                        Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build()));
+
+        cachedRecipe = new SerializedRecipe(entity.getId(), entity.getDate(), () -> mapper.toGetRecipeResponse(entity));
+        cachedConverter.write(cachedRecipe, MediaType.APPLICATION_JSON, outputMessage);
+    }
+
+    @Benchmark
+    public void mapAndSerialize() throws IOException {
+        outputMessage.getHeaders().clear();
+        jsonConverter.write(mapper.toGetRecipeResponse(entity), MediaType.APPLICATION_JSON, outputMessage);
+    }
+
+    @Benchmark
+    public void cachedBytes() throws IOException {
+        outputMessage.getHeaders().clear();
+        cachedConverter.write(cachedRecipe, MediaType.APPLICATION_JSON, outputMessage);
+    }
+
+    private static class DiscardingOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final OutputStream body = OutputStream.nullOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package recipes.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import recipes.config.ViewCounterProperties;
+import recipes.views.RecipeViewCounter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures counting recipe views on the read path by concurrent threads
+ * <p>
+ * {@link RecipeViewCounter} counts views in striped {@code LongAdder}s, compared with a single
+ * {@code AtomicLong} per recipe. Views go either to a single hot recipe, so every thread updates the same
+ * counter, or spread over many recipes. Nothing is flushed, the counter is created without application context.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ViewCounterBenchmark {
+    private static final int SPREAD_RECIPES = 10_000;
+
+    @Param({"hot", "spread"})
+    public String recipes;
+
+    private RecipeViewCounter viewCounter;
+    private final Map<Long, AtomicLong> atomicCounters = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setUp() {
+        viewCounter = new RecipeViewCounter(null, null, null, null,
+                new ViewCounterProperties(), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void longAdder() {
+        viewCounter.increment(nextId());
+    }
+
+    @Benchmark
+    public long atomicLong() {
+        return atomicCounters.computeIfAbsent(nextId(), id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long nextId() {
+        return recipes.equals("hot") ? 1 : ThreadLocalRandom.current().nextInt(SPREAD_RECIPES);
+    }
+}
@@ -2,8 +2,13 @@ package recipes;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 public class RecipesApplication {
     public static void main(String[] args) {
         SpringApplication.run(RecipesApplication.class, args);
@@ -0,0 +1,75 @@
+package recipes.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import recipes.entity.RecipeEntity;
+import recipes.pagination.SearchCursor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version counters of recipe categories
+ * <p>
+ * Version of a category is bumped whenever a recipe enters or leaves it or changes within it.
+ * Cached search results are keyed by category version, so bumping the version invalidates all of them
+ * at once and stale results are never served, old entries just age out of cache.
+ * Categories are normalized the same way as category keys stored in DB, see {@link RecipeEntity#toCategoryKey(String)}.
+ * </p>
+ */
+@Component
+public class CategoryVersions {
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Build cache key of a page of category search results, valid for current version of category
+     * @param category - searched category, case insensitive
+     * @param after - position search continues from, or null for the first page
+     * @param size - requested page size, or null for default page size
+     */
+    public String pageKey(String category, SearchCursor after, Integer size) {
+        return versionedCategory(category) + ":page:"
+                + (after == null ? "" : after.encode()) + ':' + (size == null ? "" : size);
+    }
+
+    /**
+     * Build cache key of version of all category search results, valid for current version of category
+     * @param category - searched category, case insensitive
+     */
+    public String versionKey(String category) {
+        return versionedCategory(category) + ":version";
+    }
+
+    /**
+     * Bump version of category once current transaction is committed, or immediately without transaction
+     * Bumping after commit ensures results read before the change are never cached under the new version.
+     * @param category - changed category, case insensitive, ignored if null
+     */
+    public void bump(String category) {
+        if (category == null) {
+            return;
+        }
+        String normalized = normalize(category);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.merge(normalized, 1L, Long::sum);
+                }
+            });
+        } else {
+            versions.merge(normalized, 1L, Long::sum);
+        }
+    }
+
+    private String versionedCategory(String category) {
+        String normalized = normalize(category);
+        return normalized + ':' + versions.getOrDefault(normalized, 0L);
+    }
+
+    private static String normalize(String category) {
+        return RecipeEntity.toCategoryKey(category);
+    }
+}
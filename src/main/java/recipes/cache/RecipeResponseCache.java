@@ -0,0 +1,114 @@
+package recipes.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import recipes.config.ResponseCacheProperties;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache of serialized recipe responses
+ * <p>
+ * Keeps bytes of recipe responses per recipe id and content type together with the recipe modification date
+ * they were serialized from, so a response of an outdated recipe is never returned even if eviction
+ * on update races with a concurrent read. Bounded by total size of cached bytes, responses of least
+ * valuable recipes are evicted first. Bytes are kept either in heap arrays or in direct buffers, see
+ * {@link ResponseCacheProperties#isOffHeap()}.
+ * </p>
+ */
+@Component
+public class RecipeResponseCache {
+    public static final String NAME = "recipeResponses";
+
+    /**
+     * Approximate size of key, entry and buffer objects added to weight of every response
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final Cache<Long, CachedResponses> responses;
+    private final boolean offHeap;
+
+    public RecipeResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.offHeap = properties.isOffHeap();
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((Long id, CachedResponses cached) -> cached.weight())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, NAME);
+        Gauge.builder("recipes.response.cache.size", responses,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Total size of cached recipe responses")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retrieve cached response of recipe
+     * @param id - recipe id
+     * @param date - current modification date of recipe
+     * @param contentType - content type of response
+     * @return bytes of response, which must not be modified,
+     * or null if response isn't cached or was serialized from another version of recipe
+     */
+    public ByteBuffer get(long id, LocalDateTime date, MediaType contentType) {
+        CachedResponses cached = responses.getIfPresent(id);
+        if (cached == null || !Objects.equals(cached.date(), date)) {
+            return null;
+        }
+        return cached.bytes().get(contentType);
+    }
+
+    /**
+     * Cache response of recipe
+     * @param id - recipe id
+     * @param date - modification date of recipe the response was serialized from
+     * @param contentType - content type of response
+     * @param bytes - serialized response, not modified afterwards
+     * @return bytes of cached response, which must not be modified
+     */
+    public ByteBuffer put(long id, LocalDateTime date, MediaType contentType, byte[] bytes) {
+        ByteBuffer buffer = offHeap
+                ? ByteBuffer.allocateDirect(bytes.length).put(bytes).flip()
+                : ByteBuffer.wrap(bytes);
+        responses.asMap().compute(id, (key, cached) -> cached != null && Objects.equals(cached.date(), date)
+                ? cached.with(contentType, buffer)
+                : new CachedResponses(date, Map.of(contentType, buffer)));
+        return buffer;
+    }
+
+    /**
+     * Evict cached responses of recipe in all content types
+     * Must be called when recipe is updated or deleted
+     * @param id - recipe id
+     */
+    public void evict(long id) {
+        responses.invalidate(id);
+    }
+
+    /**
+     * Responses serialized from the same version of recipe
+     */
+    private record CachedResponses(LocalDateTime date, Map<MediaType, ByteBuffer> bytes) {
+        CachedResponses with(MediaType contentType, ByteBuffer buffer) {
+            Map<MediaType, ByteBuffer> result = new HashMap<>(bytes);
+            result.put(contentType, buffer);
+            return new CachedResponses(date, Map.copyOf(result));
+        }
+
+        int weight() {
+            return bytes.values().stream().mapToInt(buffer -> buffer.capacity() + ENTRY_OVERHEAD).sum();
+        }
+    }
+}
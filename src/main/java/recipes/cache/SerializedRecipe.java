@@ -0,0 +1,30 @@
+package recipes.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import recipes.dto.response.GetRecipeResponse;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Response body of a single recipe, written by {@link SerializedRecipeHttpMessageConverter}
+ * from {@link RecipeResponseCache} when possible
+ * Recipe itself is loaded only if its response isn't cached yet.
+ */
+@Getter
+@AllArgsConstructor
+public class SerializedRecipe {
+    /**
+     * Recipe id
+     */
+    private final long id;
+    /**
+     * Current modification date of recipe
+     */
+    private final LocalDateTime date;
+    /**
+     * Loads recipe when its response isn't cached
+     */
+    private final Supplier<GetRecipeResponse> loader;
+}
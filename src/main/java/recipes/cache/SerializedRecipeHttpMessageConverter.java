@@ -0,0 +1,115 @@
+package recipes.cache;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import recipes.dto.response.GetRecipeResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes {@link SerializedRecipe} in any of JSON, CBOR and Smile formats, whichever is negotiated
+ * <p>
+ * Cached bytes are copied to response as they are, so a cached recipe isn't loaded, mapped or serialized again.
+ * Otherwise recipe is serialized by object mapper of the format, cached and written.
+ * </p>
+ */
+@Component
+public class SerializedRecipeHttpMessageConverter extends AbstractHttpMessageConverter<SerializedRecipe> {
+    /**
+     * Maximum size of chunks direct buffers are copied to response with
+     */
+    private static final int COPY_CHUNK_SIZE = 8192;
+
+    private final RecipeResponseCache cache;
+    private final Map<MediaType, ObjectWriter> writers = new LinkedHashMap<>();
+
+    public SerializedRecipeHttpMessageConverter(RecipeResponseCache cache,
+                                                MappingJackson2HttpMessageConverter jsonConverter,
+                                                MappingJackson2CborHttpMessageConverter cborConverter,
+                                                MappingJackson2SmileHttpMessageConverter smileConverter) {
+        this.cache = cache;
+        // JSON goes first, so it's used when client accepts any format
+        addWriter(MediaType.APPLICATION_JSON, jsonConverter);
+        addWriter(MediaType.APPLICATION_CBOR, cborConverter);
+        smileConverter.getSupportedMediaTypes().forEach(mediaType -> addWriter(mediaType, smileConverter));
+        setSupportedMediaTypes(writers.keySet().stream().toList());
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SerializedRecipe.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected SerializedRecipe readInternal(Class<? extends SerializedRecipe> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Serialized recipe can't be read", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(SerializedRecipe recipe, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = supportedMediaType(outputMessage.getHeaders().getContentType());
+        ByteBuffer bytes = cache.get(recipe.getId(), recipe.getDate(), contentType);
+
+        if (bytes == null) {
+            GetRecipeResponse response = recipe.getLoader().get();
+            bytes = cache.put(recipe.getId(), response.getDate(), contentType,
+                    writers.get(contentType).writeValueAsBytes(response));
+        }
+
+        outputMessage.getHeaders().setContentLength(bytes.remaining());
+        write(bytes, outputMessage.getBody());
+    }
+
+    /**
+     * Find supported type of negotiated content type, which may carry additional parameters
+     */
+    private MediaType supportedMediaType(MediaType contentType) {
+        for (MediaType mediaType : writers.keySet()) {
+            if (contentType == null || mediaType.includes(contentType)) {
+                return mediaType;
+            }
+        }
+        throw new IllegalStateException("Unsupported content type " + contentType);
+    }
+
+    /**
+     * Write bytes without changing position of shared buffer
+     * Chunk is allocated per call rather than kept per thread, as requests may run on virtual threads,
+     * each of them used once.
+     */
+    private static void write(ByteBuffer bytes, OutputStream out) throws IOException {
+        if (bytes.hasArray()) {
+            out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+            return;
+        }
+
+        byte[] chunk = new byte[Math.min(COPY_CHUNK_SIZE, bytes.remaining())];
+        for (int offset = bytes.position(); offset < bytes.limit(); offset += chunk.length) {
+            int length = Math.min(chunk.length, bytes.limit() - offset);
+            bytes.get(offset, chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    private void addWriter(MediaType mediaType, AbstractJackson2HttpMessageConverter converter) {
+        writers.put(mediaType, converter.getObjectMapper().writerFor(GetRecipeResponse.class));
+    }
+}
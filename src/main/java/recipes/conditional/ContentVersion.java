@@ -0,0 +1,100 @@
+package recipes.conditional;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Version of recipes returned by a request, used to answer conditional requests
+ * <p>
+ * Recipe date is updated on every change, so the latest date together with the number of recipes
+ * changes whenever any of the returned recipes is created, updated or deleted.
+ * The version is computed without loading recipes, so unchanged content is never read nor serialized.
+ * </p>
+ * <p>
+ * Recipes ranked by other criteria than date, e.g. by similarity, may be reordered or replaced by older recipes
+ * without changing the latest date nor the number of recipes. Version of such recipes also holds a digest
+ * of their ids and dates in the order they are returned, see {@link #ofOrdered(List, List)}.
+ * </p>
+ */
+@Data
+@AllArgsConstructor
+public class ContentVersion {
+    /**
+     * Latest modification date of returned recipes, null if there are none
+     */
+    private final LocalDateTime lastModified;
+    /**
+     * Number of returned recipes
+     */
+    private final long count;
+    /**
+     * Digest of ids and dates of returned recipes in the order they are returned, 0 if order isn't covered
+     */
+    private final long digest;
+
+    public ContentVersion(LocalDateTime lastModified, long count) {
+        this(lastModified, count, 0);
+    }
+
+    /**
+     * Create version of a single recipe
+     * @param date - recipe modification date
+     */
+    public static ContentVersion of(LocalDateTime date) {
+        return new ContentVersion(date, 1);
+    }
+
+    /**
+     * Create version of recipes returned in specified order
+     * @param ids - ids of returned recipes
+     * @param dates - modification dates of returned recipes, in the order of ids
+     */
+    public static ContentVersion ofOrdered(List<Long> ids, List<LocalDateTime> dates) {
+        LocalDateTime lastModified = null;
+        long digest = 1;
+        for (int i = 0; i < ids.size(); i++) {
+            LocalDateTime date = dates.get(i);
+            if (date != null && (lastModified == null || date.isAfter(lastModified))) {
+                lastModified = date;
+            }
+            digest = 31 * digest + ids.get(i);
+            digest = 31 * digest + nanos(date);
+        }
+        return new ContentVersion(lastModified, ids.size(), digest);
+    }
+
+    /**
+     * Entity tag, changed whenever the version changes
+     * The tag is weak: the same recipes may be sent as JSON, CBOR or Smile and compressed,
+     * and Tomcat doesn't compress responses with strong entity tags.
+     */
+    public String getETag() {
+        String tag = count + "-" + Long.toHexString(nanos(lastModified));
+        if (digest != 0) {
+            tag += "-" + Long.toHexString(digest);
+        }
+        return "W/\"" + tag + "\"";
+    }
+
+    /**
+     * Latest modification date in milliseconds since epoch for {@code Last-Modified} header,
+     * or -1 if there are no recipes
+     */
+    public long getLastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Date in nanoseconds since epoch, or 0 for null
+     */
+    private static long nanos(LocalDateTime date) {
+        if (date == null) {
+            return 0;
+        }
+        return date.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() * 1_000_000 + date.getNano() % 1_000_000;
+    }
+}
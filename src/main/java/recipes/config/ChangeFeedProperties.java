@@ -0,0 +1,20 @@
+package recipes.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits of recipe change feed pages
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.changes")
+public class ChangeFeedProperties {
+    /**
+     * Number of changes returned when client doesn't specify one
+     */
+    private int defaultPageSize = 100;
+    /**
+     * Upper bound of number of changes requested by client, also size of pages read by change streams
+     */
+    private int maxPageSize = 1000;
+}
@@ -0,0 +1,22 @@
+package recipes.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the cache of verified user credentials
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.security.credentials-cache")
+public class CredentialsCacheProperties {
+    /**
+     * How long verified credentials are accepted without hitting DB and password encoder again
+     */
+    private Duration ttl = Duration.ofMinutes(1);
+    /**
+     * Maximum number of cached users
+     */
+    private long maximumSize = 10_000;
+}
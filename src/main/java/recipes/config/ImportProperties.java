@@ -0,0 +1,16 @@
+package recipes.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of bulk recipe import
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.import")
+public class ImportProperties {
+    /**
+     * Number of recipes written in one transaction
+     */
+    private int batchSize = 500;
+}
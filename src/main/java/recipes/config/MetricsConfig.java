@@ -0,0 +1,23 @@
+package recipes.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    /**
+     * Name of timer recording every public method of service classes,
+     * tagged with {@code class} and {@code method}
+     */
+    public static final String SERVICE_TIMER = "recipes.service";
+
+    /**
+     * Record methods of classes annotated with {@link io.micrometer.core.annotation.Timed}
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package recipes.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the cache of serialized recipe responses
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.response-cache")
+public class ResponseCacheProperties {
+    /**
+     * Maximum total size of cached responses
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    /**
+     * Whether cached responses are kept in direct buffers outside of Java heap,
+     * bounded by {@code -XX:MaxDirectMemorySize}
+     */
+    private boolean offHeap = false;
+}
@@ -0,0 +1,32 @@
+package recipes.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary response formats selected by {@code Accept} header
+ * <p>
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) carry the same fields
+ * as JSON, but are smaller and faster to write. Their object mappers are built by Spring Boot's
+ * {@link Jackson2ObjectMapperBuilder}, so they are configured the same way as the JSON one.
+ * JSON is still used when client accepts any format.
+ * </p>
+ */
+@Configuration
+public class ResponseFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,24 @@
+package recipes.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits of recipe search result pages
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.search")
+public class SearchProperties {
+    /**
+     * Page size used when client doesn't specify one
+     */
+    private int defaultPageSize = 20;
+    /**
+     * Upper bound of page size requested by client
+     */
+    private int maxPageSize = 100;
+    /**
+     * Minimal share of query trigrams a recipe name must contain to be found by fuzzy name search
+     */
+    private double fuzzyThreshold = 0.5;
+}
@@ -0,0 +1,24 @@
+package recipes.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import recipes.views.RecipeViewCounter;
+
+/**
+ * Flushes recipe view counters every {@code recipes.views.flush-interval}
+ */
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class ViewCounterConfig implements SchedulingConfigurer {
+    private final RecipeViewCounter viewCounter;
+    private final ViewCounterProperties properties;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(viewCounter::flush, properties.getFlushInterval());
+    }
+}
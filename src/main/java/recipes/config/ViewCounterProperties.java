@@ -0,0 +1,22 @@
+package recipes.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of recipe view counters and rankings of the most viewed recipes
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.views")
+public class ViewCounterProperties {
+    /**
+     * Time between flushes of counted views to DB, rankings are updated on every flush
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+    /**
+     * Number of the most viewed recipes kept in every ranking, upper bound of requested number of recipes
+     */
+    private int rankingSize = 100;
+}
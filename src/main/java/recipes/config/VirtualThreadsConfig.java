@@ -0,0 +1,57 @@
+package recipes.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs request handling on virtual threads instead of Tomcat's platform thread pool
+ * <p>
+ * Enabled by {@code recipes.virtual-threads.enabled=true}, see {@code virtual-threads} profile.
+ * Requests blocked on JDBC no longer hold a platform thread, so concurrency is limited
+ * by the DB connection pool rather than by {@code server.tomcat.threads.max}.
+ * Virtual threads require Java 21 while the application is compiled for Java 17,
+ * so the executor is looked up when the application starts.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "recipes.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    /**
+     * Execute every Tomcat request on a new virtual thread
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Execute asynchronous requests, e.g. streamed export, on virtual threads as well
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Create executor starting a new virtual thread for each task
+     * @throws IllegalStateException if running on Java older than 21
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require Java 21, running on Java " + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create virtual thread executor", e);
+        }
+    }
+}
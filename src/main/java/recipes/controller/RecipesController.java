@@ -1,23 +1,52 @@
 package recipes.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import recipes.cache.SerializedRecipe;
+import recipes.conditional.ContentVersion;
 import recipes.dto.request.UpdateRecipeRequest;
 import recipes.dto.response.CreateRecipeResponse;
 import recipes.dto.request.CreateRecipeRequest;
 import recipes.dto.response.GetRecipeResponse;
-import recipes.entity.RecipeEntity;
+import recipes.dto.response.ImportRecipesResponse;
+import recipes.dto.response.PopularRecipeResponse;
+import recipes.dto.response.RecipeChangesPage;
+import recipes.dto.response.RecipesBatch;
+import recipes.dto.response.RecipesPage;
+import recipes.exception.InvalidCursorException;
+import recipes.exception.InvalidIngredientMatchException;
 import recipes.exception.InvalidParametersCountException;
+import recipes.exception.InvalidRecipeIdsException;
+import recipes.exception.InvalidRecipePatchException;
+import recipes.exception.RecipeModifiedConcurrentlyException;
 import recipes.exception.RecipeNotFoundException;
 import recipes.exception.UserIsNotAuthorException;
+import recipes.feed.RecipeChangeFeed;
+import recipes.index.IngredientMatch;
+import recipes.pagination.SearchCursor;
+import recipes.service.RecipeExportService;
+import recipes.service.RecipeImportService;
 import recipes.service.RecipesService;
+import recipes.views.RecipeViewCounter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * REST controller
@@ -30,7 +59,14 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/recipe")
 public class RecipesController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     RecipesService recipesService;
+    RecipeImportService recipeImportService;
+    RecipeExportService recipeExportService;
+    RecipeChangeFeed changeFeed;
+    RecipeViewCounter viewCounter;
 
     /**
      * Create new recipe
@@ -48,47 +84,229 @@ public class RecipesController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Import many recipes at once
+     * Requires authentication
+     * Recipes are read from request body one by one, either as JSON array or as newline delimited JSON,
+     * and written in batches. Invalid recipes are reported in response and don't fail the whole import.
+     * @param body - request body with recipes
+     * @param details - details of authenticated user
+     * @throws IOException if request body can't be read
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ImportRecipesResponse importRecipes(InputStream body,
+                                               @AuthenticationPrincipal UserDetails details) throws IOException {
+        return recipeImportService.importRecipes(body, details);
+    }
+
     /**
      * Retrieve recipe by its id
      * Requires authentication
+     * Responds with 304 if recipe wasn't modified since the version known to client,
+     * see {@code If-None-Match} and {@code If-Modified-Since} headers.
+     * Serialized response of current recipe version is cached, so it's written without loading the recipe again.
+     * Every retrieval is counted as a view of the recipe, including 304 responses.
      * @param id - recipe id
+     * @param request - current request, used to check preconditions
      * @throws RecipeNotFoundException if recipe with specified id doesn't exist
      */
     @GetMapping("/{id}")
-    public GetRecipeResponse getRecipe(@PathVariable long id) {
-        RecipeEntity recipeEntity = recipesService.getRecipeById(id);
-        GetRecipeResponse response = recipesService.toGetRecipeResponse(recipeEntity);
-        return response;
+    public ResponseEntity<SerializedRecipe> getRecipe(@PathVariable long id, WebRequest request) {
+        ContentVersion version = recipesService.getRecipeVersion(id);
+        viewCounter.increment(id);
+        if (request.checkNotModified(version.getETag(), version.getLastModifiedMillis())) {
+            return null;
+        }
+
+        SerializedRecipe recipe = new SerializedRecipe(id, version.getLastModified(),
+                () -> recipesService.getRecipeResponseById(id));
+        return ResponseEntity.ok()
+                .eTag(version.getETag())
+                .lastModified(version.getLastModifiedMillis())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(recipe);
+    }
+
+    /**
+     * Retrieve many recipes by their ids at once
+     * Requires authentication
+     * Found recipes keep the order of requested ids, ids of recipes which don't exist are listed separately.
+     * Responds with 304 if none of the found recipes was modified since the version known to client,
+     * see {@code If-None-Match} and {@code If-Modified-Since} headers.
+     * @param ids - recipe ids, either repeated or comma separated
+     * @param request - current request, used to check preconditions
+     * @throws InvalidParametersCountException if more ids than maximum page size are requested
+     * @throws InvalidRecipeIdsException if some of ids is empty
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<RecipesBatch> getRecipes(@RequestParam List<Long> ids, WebRequest request) {
+        RecipesBatch batch = recipesService.getRecipesByIds(ids);
+        ContentVersion version = recipesService.getBatchVersionOf(batch);
+        if (request.checkNotModified(version.getETag(), version.getLastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(version.getETag())
+                .lastModified(version.getLastModifiedMillis())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(batch);
     }
 
     /**
-     * Retrieve list of recipes either by recipe category OR by recipe name
+     * Retrieve the most viewed recipes, overall or in specified category
      * Requires authentication
+     * Recipes are ranked by views flushed periodically, so a view is ranked within a flush interval.
+     * @param category - category of recipes, case insensitive, all categories if not provided
+     * @param size - number of recipes, 10 by default, bounded by ranking size
+     */
+    @GetMapping("/popular")
+    public List<PopularRecipeResponse> getPopularRecipes(@RequestParam(required = false) String category,
+                                                         @RequestParam(defaultValue = "10") int size) {
+        return recipesService.getMostViewedRecipes(category, size);
+    }
+
+    /**
+     * Retrieve page of recipes either by recipe category OR by recipe name OR by ingredients
+     * Requires authentication
+     * Recipes are ordered by date, newest first. If there are more results,
+     * token for the next page is returned in {@value #NEXT_CURSOR_HEADER} header.
+     * Fuzzy search by name tolerates typos and returns a single page of the most similar names first.
+     * Responds with 304 if none of the found recipes was modified since the version known to client,
+     * see {@code If-None-Match} and {@code If-Modified-Since} headers.
      * @param name
      * @param category
-     * @throws InvalidParametersCountException if either category or name not provided or both of them provided at the same time
+     * @param ingredients - ingredients recipe uses, either repeated or comma separated
+     * @param match - whether recipe must use all or any of specified ingredients, all by default
+     * @param fuzzy - whether name is matched by similarity instead of as a substring, false by default
+     * @param cursor - token of the page to retrieve, taken from previous response
+     * @param size - page size, bounded by configured maximum
+     * @param request - current request, used to check preconditions
+     * @throws InvalidParametersCountException if none or more than one of category, name and ingredients provided,
+     * or fuzzy search is requested without name
+     * @throws InvalidCursorException if cursor is malformed or provided for fuzzy search
+     * @throws InvalidIngredientMatchException if match is neither "all" nor "any"
      */
     @GetMapping("/search")
-    public List<GetRecipeResponse> searchRecipe(
+    public ResponseEntity<List<GetRecipeResponse>> searchRecipe(
             @RequestParam(required = false) String name,
-            @RequestParam(required = false) String category) {
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) List<String> ingredients,
+            @RequestParam(defaultValue = "all") String match,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
 
-        boolean invalidParametersCount = (name == null && category == null) ||
-                (name != null && category != null);
+        boolean invalidParametersCount = Stream.of(name, category, ingredients)
+                .filter(Objects::nonNull)
+                .count() != 1;
 
         if (invalidParametersCount) {
-            throw new InvalidParametersCountException("Either 'category' or 'name' must be provided.");
+            throw new InvalidParametersCountException("Either 'category', 'name' or 'ingredients' must be provided.");
         }
 
-        List<GetRecipeResponse> response = null;
+        if (fuzzy) {
+            return searchRecipeByNameFuzzy(name, cursor, size, request);
+        }
 
+        SearchCursor after = cursor == null ? null : SearchCursor.decode(cursor);
+        IngredientMatch ingredientMatch = IngredientMatch.parse(match);
+        ContentVersion version;
         if (name != null) {
-            response = recipesService.searchRecipesByName(name);
+            version = recipesService.getSearchVersionByName(name);
         } else if (category != null) {
-            response = recipesService.searchRecipesByCategory(category);
+            version = recipesService.getSearchVersionByCategory(category);
+        } else {
+            version = recipesService.getSearchVersionByIngredients(ingredients, ingredientMatch);
+        }
+        if (request.checkNotModified(version.getETag(), version.getLastModifiedMillis())) {
+            return null;
+        }
+
+        RecipesPage page = null;
+
+        if (name != null) {
+            page = recipesService.searchRecipesByName(name, after, size);
+        } else if (category != null) {
+            page = recipesService.searchRecipesByCategory(category, after, size);
+        } else if (ingredients != null) {
+            page = recipesService.searchRecipesByIngredients(ingredients, ingredientMatch, after, size);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(version.getETag())
+                .lastModified(version.getLastModifiedMillis())
+                .varyBy(HttpHeaders.ACCEPT);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getRecipes());
+    }
+
+    private ResponseEntity<List<GetRecipeResponse>> searchRecipeByNameFuzzy(String name, String cursor, Integer size,
+                                                                            WebRequest request) {
+        if (name == null) {
+            throw new InvalidParametersCountException("'fuzzy' applies to search by 'name' only.");
+        }
+        if (cursor != null) {
+            throw new InvalidCursorException("Fuzzy search results are not paged");
+        }
+
+        RecipesPage page = recipesService.searchRecipesByNameFuzzy(name, size);
+        ContentVersion version = recipesService.getSearchVersionOf(page);
+        if (request.checkNotModified(version.getETag(), version.getLastModifiedMillis())) {
+            return null;
         }
+        return ResponseEntity.ok()
+                .eTag(version.getETag())
+                .lastModified(version.getLastModifiedMillis())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(page.getRecipes());
+    }
+
+    /**
+     * Export recipes as newline delimited JSON, ordered by id
+     * Requires authentication
+     * Recipes are streamed to the client as they are read from DB.
+     * @param category - category of exported recipes, all categories if not provided
+     * @param modifiedSince - export only recipes modified at this time or later, all recipes if not provided
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportRecipes(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedSince) {
+        StreamingResponseBody body = out -> recipeExportService.exportRecipes(category, modifiedSince, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Retrieve recipes created, updated or deleted after specified cursor, oldest change first
+     * Requires authentication
+     * A recipe is returned once with its current state, deleted recipes as tombstones without recipe.
+     * Clients keep the returned cursor and pass it to the next request, cursor 0 retrieves all recipes.
+     * @param cursor - cursor returned by previous request
+     * @param size - maximum number of changes, bounded by configured maximum
+     */
+    @GetMapping("/changes")
+    public RecipeChangesPage getChanges(@RequestParam(defaultValue = "0") long cursor,
+                                        @RequestParam(required = false) Integer size) {
+        return changeFeed.getChanges(cursor, size);
+    }
 
-        return response;
+    /**
+     * Stream recipe changes after specified cursor as Server-Sent Events
+     * Requires authentication
+     * Every event is a change named by its type, with the cursor as event id. Reconnecting clients
+     * continue after the cursor sent in {@code Last-Event-ID} header.
+     * @param cursor - cursor to start after, 0 by default
+     * @param lastEventId - id of the last event received before reconnecting, takes precedence over cursor
+     */
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(defaultValue = "0") long cursor,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeed.subscribe(lastEventId != null ? lastEventId : cursor);
     }
 
     /**
@@ -109,6 +327,28 @@ public class RecipesController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    /**
+     * Update only the recipe fields present in request body
+     * Requires authentication
+     * Body is a JSON merge patch, see RFC 7396: present fields replace current values, absent fields are kept.
+     * Only columns whose value changed are written.
+     * Only an author of recipe can update it.
+     * @param patch - JSON merge patch of recipe fields
+     * @param id - recipe id
+     * @param details - details of authenticated user
+     * @throws InvalidRecipePatchException if patch isn't a JSON object or patched recipe is invalid
+     * @throws RecipeNotFoundException if recipe with specified id doesn't exist
+     * @throws UserIsNotAuthorException if method called not by an author of recipe
+     * @throws RecipeModifiedConcurrentlyException if recipe was modified while the patch was applied
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchRecipe(@RequestBody JsonNode patch,
+                                            @PathVariable long id,
+                                            @AuthenticationPrincipal UserDetails details) {
+        recipesService.patchRecipe(patch, id, details);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     /**
      * Delete a recipe by specified id
      * Requires authentication
@@ -0,0 +1,24 @@
+package recipes.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ImportRecipesResponse {
+    int imported;
+    List<Long> ids;
+    List<ImportError> errors;
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Data
+    public static class ImportError {
+        long index;
+        String message;
+    }
+}
@@ -0,0 +1,14 @@
+package recipes.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class PopularRecipeResponse {
+    long id;
+    long views;
+    GetRecipeResponse recipe;
+}
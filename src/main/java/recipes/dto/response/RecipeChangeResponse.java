@@ -0,0 +1,22 @@
+package recipes.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import recipes.entity.RecipeChangeType;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RecipeChangeResponse {
+    long cursor;
+    long id;
+    RecipeChangeType type;
+    LocalDateTime date;
+    /**
+     * Current recipe, null for deleted recipes
+     */
+    GetRecipeResponse recipe;
+}
@@ -0,0 +1,19 @@
+package recipes.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RecipeChangesPage {
+    List<RecipeChangeResponse> changes;
+    /**
+     * Cursor to request the following changes with, unchanged if there were none
+     */
+    long cursor;
+    boolean hasMore;
+}
@@ -0,0 +1,29 @@
+package recipes.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RecipesBatch {
+    /**
+     * Found recipes in the order their ids were requested
+     */
+    List<Item> recipes;
+    /**
+     * Ids of recipes which don't exist, in the order they were requested
+     */
+    List<Long> missing;
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Data
+    public static class Item {
+        long id;
+        GetRecipeResponse recipe;
+    }
+}
@@ -0,0 +1,19 @@
+package recipes.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RecipesPage {
+    List<GetRecipeResponse> recipes;
+    /**
+     * Ids of returned recipes, in the order of recipes
+     */
+    List<Long> ids;
+    String nextCursor;
+}
@@ -0,0 +1,39 @@
+package recipes.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest change of a recipe in change feed
+ * <p>
+ * Id is the feed cursor, it grows with every appended change. The feed is compacted:
+ * a recipe has a single row, replaced on every change, so the feed is bounded by the number of
+ * recipes and deletions rather than by the number of changes.
+ * </p>
+ */
+@Entity
+@Table(name = "RECIPE_CHANGE", indexes = @Index(name = "IDX_RECIPE_CHANGE_RECIPE_ID",
+        columnList = "RECIPE_ID", unique = true))
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RecipeChangeEntity {
+    public static final String ID_SEQUENCE = "RECIPE_CHANGE_SEQ";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipeChangeIdGenerator")
+    @SequenceGenerator(name = "recipeChangeIdGenerator", sequenceName = ID_SEQUENCE, allocationSize = 50)
+    @Column(name = "ID")
+    Long id;
+    @Column(name = "RECIPE_ID", nullable = false)
+    Long recipeId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "TYPE", nullable = false)
+    RecipeChangeType type;
+    @Column(name = "DATE", nullable = false)
+    LocalDateTime date;
+}
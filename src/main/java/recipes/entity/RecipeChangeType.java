@@ -0,0 +1,13 @@
+package recipes.entity;
+
+/**
+ * Kind of recipe change recorded in change feed
+ */
+public enum RecipeChangeType {
+    CREATED,
+    UPDATED,
+    /**
+     * Tombstone, kept so clients syncing from an older cursor learn about the deletion
+     */
+    DELETED
+}
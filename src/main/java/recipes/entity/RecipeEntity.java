@@ -4,35 +4,69 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "RECIPE")
+@Table(name = "RECIPE", indexes = @Index(name = RecipeEntity.CATEGORY_KEY_INDEX,
+        columnList = "CATEGORY_KEY, DATE DESC, ID DESC"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
 public class RecipeEntity {
+    public static final String ID_SEQUENCE = "RECIPE_SEQ";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String CATEGORY_KEY_INDEX = "IDX_RECIPE_CATEGORY_KEY_DATE";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipeIdGenerator")
+    @SequenceGenerator(name = "recipeIdGenerator", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "ID")
     Long id;
     @Column(name = "CATEGORY")
     String category;
+    /**
+     * Lower-cased category, compared by category search, see {@link #toCategoryKey(String)}
+     */
+    @Column(name = "CATEGORY_KEY")
+    String categoryKey;
     @UpdateTimestamp
     @Column(name = "DATE")
     LocalDateTime date;
     @Column(name = "NAME")
     String name;
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     UserEntity author;
     @Column(name = "DESCRIPTION")
     String description;
-    @ElementCollection
+    /**
+     * Stored inline as JSON array, so the whole recipe is read and written as a single row
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "INGREDIENTS")
     List<String> ingredients;
-    @ElementCollection
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "DIRECTIONS")
     List<String> directions;
+
+    @PrePersist
+    @PreUpdate
+    void updateCategoryKey() {
+        categoryKey = toCategoryKey(category);
+    }
+
+    /**
+     * Normalize category for case insensitive comparison
+     * @param category - category as entered by user
+     * @return lower-cased category, or null if category is null
+     */
+    public static String toCategoryKey(String category) {
+        return category == null ? null : category.toLowerCase(Locale.ROOT);
+    }
 }
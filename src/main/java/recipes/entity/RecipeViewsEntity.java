@@ -0,0 +1,26 @@
+package recipes.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Persisted number of views of a recipe
+ * <p>
+ * Kept apart from recipe rows, so flushing view counters doesn't rewrite recipes with their
+ * ingredients and directions, nor contend with their updates. Recipes which were never viewed have no row.
+ * </p>
+ */
+@Entity
+@Table(name = "RECIPE_VIEWS")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RecipeViewsEntity {
+    @Id
+    @Column(name = "RECIPE_ID")
+    Long recipeId;
+    @Column(name = "VIEWS", nullable = false)
+    long views;
+}
@@ -0,0 +1,18 @@
+package recipes.event;
+
+import lombok.Value;
+import recipes.readmodel.RecipeView;
+
+import java.time.Instant;
+
+/**
+ * Published by {@link recipes.service.RecipesService} when a recipe is created
+ */
+@Value
+public class RecipeCreatedEvent {
+    RecipeView recipe;
+    /**
+     * Time of the change, used to measure how long it takes to reach read model
+     */
+    Instant occurredAt;
+}
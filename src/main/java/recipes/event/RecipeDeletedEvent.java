@@ -0,0 +1,17 @@
+package recipes.event;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Published by {@link recipes.service.RecipesService} when a recipe is deleted
+ */
+@Value
+public class RecipeDeletedEvent {
+    long id;
+    /**
+     * Time of the change, used to measure how long it takes to reach read model
+     */
+    Instant occurredAt;
+}
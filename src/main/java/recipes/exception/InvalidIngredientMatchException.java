@@ -0,0 +1,7 @@
+package recipes.exception;
+
+public class InvalidIngredientMatchException extends RuntimeException {
+    public InvalidIngredientMatchException(String message) {
+        super(message);
+    }
+}
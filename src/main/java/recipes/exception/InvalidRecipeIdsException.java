@@ -0,0 +1,7 @@
+package recipes.exception;
+
+public class InvalidRecipeIdsException extends RuntimeException {
+    public InvalidRecipeIdsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package recipes.exception;
+
+public class InvalidRecipePatchException extends RuntimeException {
+    public InvalidRecipePatchException(String message) {
+        super(message);
+    }
+}
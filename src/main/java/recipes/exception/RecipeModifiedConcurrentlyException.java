@@ -0,0 +1,7 @@
+package recipes.exception;
+
+public class RecipeModifiedConcurrentlyException extends RuntimeException {
+    public RecipeModifiedConcurrentlyException(String message) {
+        super(message);
+    }
+}
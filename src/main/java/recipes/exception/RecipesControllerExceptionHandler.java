@@ -26,6 +26,26 @@ public class RecipesControllerExceptionHandler extends ResponseEntityExceptionHa
         return new ResponseEntity<>(Map.of("error",ex.getMessage()), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidRecipeIdsException.class)
+    public ResponseEntity<Object> handleInvalidRecipeIds(InvalidRecipeIdsException ex) {
+        return new ResponseEntity<>(Map.of("error",ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursor(InvalidCursorException ex) {
+        return new ResponseEntity<>(Map.of("error",ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidIngredientMatchException.class)
+    public ResponseEntity<Object> handleInvalidIngredientMatch(InvalidIngredientMatchException ex) {
+        return new ResponseEntity<>(Map.of("error",ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidRecipePatchException.class)
+    public ResponseEntity<Object> handleInvalidRecipePatch(InvalidRecipePatchException ex) {
+        return new ResponseEntity<>(Map.of("error",ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<Object> handleUserAlreadyExists(UserAlreadyExistsException ex) {
         return new ResponseEntity<>(Map.of("error",ex.getMessage()), HttpStatus.BAD_REQUEST);
@@ -36,6 +56,11 @@ public class RecipesControllerExceptionHandler extends ResponseEntityExceptionHa
         return new ResponseEntity<>(Map.of("error",ex.getMessage()), HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(RecipeModifiedConcurrentlyException.class)
+    public ResponseEntity<Object> handleRecipeModifiedConcurrently(RecipeModifiedConcurrentlyException ex) {
+        return new ResponseEntity<>(Map.of("error",ex.getMessage()), HttpStatus.CONFLICT);
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
         Map<String, Object> body = new HashMap<>();
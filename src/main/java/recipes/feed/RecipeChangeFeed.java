@@ -0,0 +1,346 @@
+package recipes.feed;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import recipes.config.ChangeFeedProperties;
+import recipes.dto.response.RecipeChangeResponse;
+import recipes.dto.response.RecipeChangesPage;
+import recipes.entity.RecipeChangeEntity;
+import recipes.entity.RecipeChangeType;
+import recipes.event.RecipeCreatedEvent;
+import recipes.event.RecipeDeletedEvent;
+import recipes.event.RecipeUpdatedEvent;
+import recipes.mapper.RecipeMapper;
+import recipes.readmodel.RecipeReadModel;
+import recipes.repository.RecipeChangeRepository;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Feed of recipe changes, so clients mirroring recipes sync only what changed since their last sync
+ * <p>
+ * Every change published by {@link recipes.service.RecipesService} is appended to {@code RECIPE_CHANGE}
+ * table in the transaction making the change, right before it commits, so a committed change is never lost.
+ * Changes are appended and committed one transaction at a time, so the cursor, the id of the change, grows
+ * in the order changes become visible and a client reading after its cursor never misses a change. The feed
+ * is read only while no append is committing, so a client reads a change once the read model has
+ * the changed recipe. The feed is compacted, a recipe keeps
+ * only its latest change, and deleted recipes keep a tombstone. Reading the feed from cursor 0 therefore
+ * returns every recipe, and the cost of a sync is bounded by the number of recipes changed since the cursor.
+ * </p>
+ * <p>
+ * Changes are retrieved either page by page, see {@link #getChanges(long, Integer)}, or as a stream of
+ * Server-Sent Events, see {@link #subscribe(long)}. Changes carry the current recipe from {@link RecipeReadModel}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RecipeChangeFeed {
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private final RecipeChangeRepository repository;
+    private final RecipeReadModel readModel;
+    private final RecipeMapper mapper;
+    private final ChangeFeedProperties properties;
+    private final AsyncTaskExecutor executor;
+    private final TransactionTemplate appendTransaction;
+    /**
+     * Held for writing from appending changes until their transaction completes, for reading while reading the feed
+     */
+    private final ReentrantReadWriteLock appendLock = new ReentrantReadWriteLock();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    public RecipeChangeFeed(RecipeChangeRepository repository,
+                            RecipeReadModel readModel,
+                            RecipeMapper mapper,
+                            ChangeFeedProperties properties,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                            AsyncTaskExecutor executor,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.readModel = readModel;
+        this.mapper = mapper;
+        this.properties = properties;
+        this.executor = executor;
+        // changes made outside a transaction are appended in a transaction of their own
+        this.appendTransaction = new TransactionTemplate(transactionManager);
+        Gauge.builder("recipes.changes.subscribers", subscriptions, Set::size)
+                .description("Number of clients streaming recipe changes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Append creation of recipes stored before the feed existed, so reading from cursor 0 returns all recipes
+     */
+    @PostConstruct
+    public void backfill() {
+        List<Long> ids = repository.findRecipeIdsWithoutChange();
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += BACKFILL_BATCH_SIZE) {
+            List<RecipeChangeEntity> batch = ids.subList(from, Math.min(ids.size(), from + BACKFILL_BATCH_SIZE))
+                    .stream()
+                    .map(id -> new RecipeChangeEntity(null, id, RecipeChangeType.CREATED, now))
+                    .toList();
+            append(batch);
+        }
+        log.info("Creation of {} recipes appended to change feed", ids.size());
+    }
+
+    /**
+     * Retrieve changes made after specified cursor, oldest first
+     * @param cursor - cursor returned with previously retrieved changes, 0 to retrieve all recipes
+     * @param size - maximum number of changes, bounded by configured maximum
+     */
+    public RecipeChangesPage getChanges(long cursor, Integer size) {
+        int pageSize = size == null
+                ? properties.getDefaultPageSize()
+                : Math.max(1, Math.min(size, properties.getMaxPageSize()));
+        Slice<RecipeChangeEntity> changes;
+        appendLock.readLock().lock();
+        try {
+            changes = repository.findByIdGreaterThanOrderById(cursor, PageRequest.ofSize(pageSize));
+        } finally {
+            appendLock.readLock().unlock();
+        }
+
+        List<RecipeChangeResponse> responses = new ArrayList<>(changes.getNumberOfElements());
+        for (RecipeChangeEntity change : changes) {
+            toResponse(change).ifPresent(responses::add);
+        }
+        long nextCursor = changes.isEmpty() ? cursor : changes.getContent().get(changes.getNumberOfElements() - 1).getId();
+        return new RecipeChangesPage(responses, nextCursor, changes.hasNext());
+    }
+
+    /**
+     * Stream changes made after specified cursor as Server-Sent Events
+     * Changes already in the feed are sent first, then changes as they are appended. Every event carries
+     * the cursor as its id, so a reconnecting client continues from {@code Last-Event-ID}.
+     * @param cursor - cursor of the last change known to client, 0 to stream all recipes
+     * @return emitter completed when client disconnects or request times out
+     */
+    public SseEmitter subscribe(long cursor) {
+        SseEmitter emitter = new SseEmitter();
+        Subscription subscription = new Subscription(emitter, cursor);
+        subscriptions.add(subscription);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        subscription.wake();
+        return emitter;
+    }
+
+    @EventListener
+    public void on(RecipeCreatedEvent event) {
+        record(event.getRecipe().getId(), RecipeChangeType.CREATED, event.getOccurredAt());
+    }
+
+    @EventListener
+    public void on(RecipeUpdatedEvent event) {
+        record(event.getRecipe().getId(), RecipeChangeType.UPDATED, event.getOccurredAt());
+    }
+
+    @EventListener
+    public void on(RecipeDeletedEvent event) {
+        record(event.getId(), RecipeChangeType.DELETED, event.getOccurredAt());
+    }
+
+    /**
+     * Collect change until current transaction is about to commit, or append it right away outside of transaction
+     */
+    private void record(long recipeId, RecipeChangeType type, Instant occurredAt) {
+        RecipeChangeEntity change = new RecipeChangeEntity(null, recipeId, type,
+                LocalDateTime.ofInstant(occurredAt, ZoneId.systemDefault()));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(List.of(change));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<Long, RecipeChangeEntity> pending = (Map<Long, RecipeChangeEntity>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Long, RecipeChangeEntity> changes = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new PendingChanges(changes));
+            pending = changes;
+        }
+        RecipeChangeEntity previous = pending.remove(recipeId);
+        if (previous != null && previous.getType() == RecipeChangeType.CREATED && type == RecipeChangeType.UPDATED) {
+            change.setType(RecipeChangeType.CREATED);
+        }
+        pending.put(recipeId, change);
+    }
+
+    /**
+     * Append specified changes in a transaction of their own and notify subscriptions
+     */
+    private void append(List<RecipeChangeEntity> changes) {
+        appendLock.writeLock().lock();
+        try {
+            appendTransaction.executeWithoutResult(status -> write(changes));
+        } finally {
+            appendLock.writeLock().unlock();
+        }
+        subscriptions.forEach(Subscription::wake);
+    }
+
+    /**
+     * Replace previous changes of recipes with specified changes in current transaction
+     */
+    private void write(List<RecipeChangeEntity> changes) {
+        // created recipes have no previous change to replace
+        List<Long> changedIds = changes.stream()
+                .filter(change -> change.getType() != RecipeChangeType.CREATED)
+                .map(RecipeChangeEntity::getRecipeId)
+                .toList();
+        if (!changedIds.isEmpty()) {
+            repository.deleteByRecipeIdIn(changedIds);
+        }
+        repository.saveAll(changes);
+    }
+
+    /**
+     * Convert change to response with the current recipe
+     * @return response, or empty if recipe was deleted since, its tombstone follows later in the feed
+     */
+    private Optional<RecipeChangeResponse> toResponse(RecipeChangeEntity change) {
+        if (change.getType() == RecipeChangeType.DELETED) {
+            return Optional.of(new RecipeChangeResponse(change.getId(), change.getRecipeId(), change.getType(),
+                    change.getDate(), null));
+        }
+        return readModel.get(change.getRecipeId())
+                .map(recipe -> new RecipeChangeResponse(change.getId(), change.getRecipeId(), change.getType(),
+                        change.getDate(), mapper.toGetRecipeResponse(recipe)));
+    }
+
+    /**
+     * Changes of a transaction, written by the transaction right before it commits
+     * The feed stays locked until the transaction completes, after the read model applied the changed recipes,
+     * so no other transaction appends changes in between and no client reads them before the read model has them.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+        private final Map<Long, RecipeChangeEntity> changes;
+
+        private PendingChanges(Map<Long, RecipeChangeEntity> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            appendLock.writeLock().lock();
+            write(new ArrayList<>(changes.values()));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(RecipeChangeFeed.this);
+            // not locked if an earlier synchronization failed before commit
+            if (appendLock.isWriteLockedByCurrentThread()) {
+                appendLock.writeLock().unlock();
+            }
+            if (status == STATUS_COMMITTED) {
+                subscriptions.forEach(Subscription::wake);
+            }
+        }
+    }
+
+    /**
+     * Client streaming changes
+     * Changes are read from the feed after the last sent cursor, on a task executor thread,
+     * so appending changes never waits for slow clients. Wake-ups arriving while changes are sent
+     * are coalesced into another read.
+     */
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean pending;
+        private volatile boolean closed;
+        private long cursor;
+
+        private Subscription(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        void wake() {
+            pending = true;
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::send);
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscriptions.remove(this);
+        }
+
+        private void send() {
+            try {
+                while (pending && !closed) {
+                    pending = false;
+                    sendChanges();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Change stream closed", e);
+                emitter.completeWithError(e);
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            if (pending && !closed) {
+                wake();
+            }
+        }
+
+        private void sendChanges() throws IOException {
+            RecipeChangesPage page;
+            do {
+                page = getChanges(cursor, properties.getMaxPageSize());
+                for (RecipeChangeResponse change : page.getChanges()) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(change.getCursor()))
+                            .name(change.getType().name())
+                            .data(change, MediaType.APPLICATION_JSON));
+                }
+                cursor = page.getCursor();
+            } while (page.isHasMore() && !closed);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package recipes.index;
+
+import recipes.exception.InvalidIngredientMatchException;
+
+import java.util.Locale;
+
+/**
+ * How recipes are matched against several queried ingredients
+ */
+public enum IngredientMatch {
+    /**
+     * Recipe uses all of queried ingredients
+     */
+    ALL,
+    /**
+     * Recipe uses at least one of queried ingredients
+     */
+    ANY;
+
+    /**
+     * Parse match mode from request parameter, ignoring case
+     * @param value - "all" or "any"
+     * @throws InvalidIngredientMatchException if value is neither "all" nor "any"
+     */
+    public static IngredientMatch parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidIngredientMatchException("Match must be either 'all' or 'any'");
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package recipes.index;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import recipes.conditional.ContentVersion;
+import recipes.event.RecipeCreatedEvent;
+import recipes.event.RecipeDeletedEvent;
+import recipes.event.RecipeUpdatedEvent;
+import recipes.pagination.SearchCursor;
+import recipes.repository.RecipeIngredientView;
+import recipes.repository.RecipeRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over recipe ingredients
+ * <p>
+ * Ingredients are split into lower-cased words with plural endings dropped, so "2 Eggs" and "egg" match,
+ * and every word maps to a compressed bitmap of ids of recipes using it. Queried ingredient made of several
+ * words, e.g. "olive oil", matches recipes using all of them. Several queried ingredients are answered
+ * by intersection or union of bitmaps, without touching DB.
+ * </p>
+ * <p>
+ * Indexed recipes are also kept ordered by date. Page of many matches is collected by walking recipes
+ * from the newest one and checking whether matching bitmap contains them, page of few matches
+ * by scanning the matching bitmap, whichever visits fewer recipes.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeIngredientIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private static final Comparator<IndexedRecipe> NEWEST_FIRST =
+            Comparator.comparing(IndexedRecipe::date, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+                    .thenComparing(IndexedRecipe::id, Comparator.reverseOrder());
+
+    private final RecipeRepository repository;
+
+    private final Map<String, Roaring64Bitmap> postings = new HashMap<>();
+    private final Map<Long, IndexedRecipe> recipes = new HashMap<>();
+    private final NavigableSet<IndexedRecipe> newestFirst = new TreeSet<>(NEWEST_FIRST);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Load ingredients of all recipes from DB
+     */
+    @PostConstruct
+    public void rebuild() {
+        List<RecipeIngredientView> views = repository.findAllIngredients();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            recipes.clear();
+            newestFirst.clear();
+            for (RecipeIngredientView view : views) {
+                if (view.getIngredients() != null) {
+                    add(view.getId(), view.getIngredients(), view.getDate());
+                }
+            }
+            postings.values().forEach(Roaring64Bitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add recipe to the index or replace its previously indexed ingredients
+     * @param id - recipe id
+     * @param ingredients - recipe ingredients
+     * @param date - recipe modification date, used for ordering
+     */
+    public void put(long id, Collection<String> ingredients, LocalDateTime date) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            add(id, ingredients, date);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove recipe from the index
+     * @param id - recipe id
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RecipeCreatedEvent event) {
+        put(event.getRecipe().getId(), event.getRecipe().getIngredients(), event.getRecipe().getDate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RecipeUpdatedEvent event) {
+        put(event.getRecipe().getId(), event.getRecipe().getIngredients(), event.getRecipe().getDate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RecipeDeletedEvent event) {
+        remove(event.getId());
+    }
+
+    /**
+     * Find ids of recipes using specified ingredients
+     * @param ingredients - queried ingredients
+     * @param match - whether recipe must use all or any of queried ingredients
+     * @param after - position to continue search from, or null to start from the newest recipe
+     * @param limit - maximum number of ids to return
+     * @return ids ordered by date, newest first
+     */
+    public List<Long> search(Collection<String> ingredients, IngredientMatch match, SearchCursor after, int limit) {
+        List<Set<String>> queryTokens = tokenizeAll(ingredients);
+
+        lock.readLock().lock();
+        try {
+            return newest(matching(queryTokens, match), after, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieve version of search results, i.e. number of recipes using specified ingredients
+     * and their latest date
+     * @param ingredients - queried ingredients
+     * @param match - whether recipe must use all or any of queried ingredients
+     */
+    public ContentVersion version(Collection<String> ingredients, IngredientMatch match) {
+        List<Set<String>> queryTokens = tokenizeAll(ingredients);
+
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap matches = matching(queryTokens, match);
+            LocalDateTime lastModified = newest(matches, null, 1).stream()
+                    .findFirst()
+                    .map(id -> recipes.get(id).date())
+                    .orElse(null);
+            return new ContentVersion(lastModified, matches.getLongCardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find ids of indexed recipes using queried ingredients
+     * Must be called under read lock.
+     * @param queryTokens - tokens of every queried ingredient
+     * @param match - whether recipe must use all or any of queried ingredients
+     */
+    private Roaring64Bitmap matching(List<Set<String>> queryTokens, IngredientMatch match) {
+        if (queryTokens.isEmpty()) {
+            return new Roaring64Bitmap();
+        }
+
+        Roaring64Bitmap ids;
+        if (match == IngredientMatch.ALL) {
+            ids = intersection(queryTokens.stream().flatMap(Set::stream).collect(Collectors.toSet()));
+        } else {
+            ids = new Roaring64Bitmap();
+            for (Set<String> tokens : queryTokens) {
+                ids.or(intersection(tokens));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Collect page of matches, newest first
+     * Must be called under read lock.
+     * @param matches - ids of matching recipes
+     * @param after - position to continue from, or null to start from the newest recipe
+     * @param limit - maximum number of ids to return
+     */
+    private List<Long> newest(Roaring64Bitmap matches, SearchCursor after, int limit) {
+        long matchCount = matches.getLongCardinality();
+        if (matchCount == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        // walk visits about limit * recipes / matches recipes, scan visits all matches
+        boolean walk = (double) limit * recipes.size() < (double) matchCount * matchCount;
+        return walk ? walkNewest(matches, after, limit) : scanMatches(matches, after, limit);
+    }
+
+    /**
+     * Collect page of matches walking indexed recipes from the newest one
+     * Must be called under read lock.
+     */
+    private List<Long> walkNewest(Roaring64Bitmap matches, SearchCursor after, int limit) {
+        Set<IndexedRecipe> candidates = after == null
+                ? newestFirst
+                : newestFirst.tailSet(new IndexedRecipe(after.getId(), Set.of(), after.getDate()), false);
+
+        List<Long> result = new ArrayList<>(limit);
+        for (IndexedRecipe recipe : candidates) {
+            if (matches.contains(recipe.id())) {
+                result.add(recipe.id());
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Collect page of matches scanning all of them and keeping the newest ones in a bounded heap
+     * Must be called under read lock.
+     */
+    private List<Long> scanMatches(Roaring64Bitmap matches, SearchCursor after, int limit) {
+        // oldest of kept recipes on top, so it's the one replaced by a newer match
+        PriorityQueue<IndexedRecipe> newest = new PriorityQueue<>(limit, NEWEST_FIRST.reversed());
+        LongIterator ids = matches.getLongIterator();
+        while (ids.hasNext()) {
+            IndexedRecipe recipe = recipes.get(ids.next());
+            if (after != null && !after.precedes(recipe.date(), recipe.id())) {
+                continue;
+            }
+            if (newest.size() < limit) {
+                newest.add(recipe);
+            } else if (NEWEST_FIRST.compare(recipe, newest.peek()) < 0) {
+                newest.poll();
+                newest.add(recipe);
+            }
+        }
+        return newest.stream()
+                .sorted(NEWEST_FIRST)
+                .map(IndexedRecipe::id)
+                .toList();
+    }
+
+    /**
+     * Intersect postings of all tokens, starting from the smallest one
+     * @return new bitmap, which may be modified by caller
+     */
+    private Roaring64Bitmap intersection(Set<String> tokens) {
+        List<Roaring64Bitmap> bitmaps = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            Roaring64Bitmap ids = postings.get(token);
+            if (ids == null) {
+                return new Roaring64Bitmap();
+            }
+            bitmaps.add(ids);
+        }
+        bitmaps.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+
+        Roaring64Bitmap result = bitmaps.get(0).clone();
+        for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+            result.and(bitmaps.get(i));
+        }
+        return result;
+    }
+
+    private void add(long id, Collection<String> ingredients, LocalDateTime date) {
+        Set<String> tokens = new LinkedHashSet<>();
+        ingredients.forEach(ingredient -> tokens.addAll(tokenize(ingredient)));
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        IndexedRecipe recipe = new IndexedRecipe(id, tokens, date);
+        recipes.put(id, recipe);
+        newestFirst.add(recipe);
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, t -> new Roaring64Bitmap()).addLong(id);
+        }
+    }
+
+    private void delete(long id) {
+        IndexedRecipe previous = recipes.remove(id);
+        if (previous == null) {
+            return;
+        }
+        newestFirst.remove(previous);
+        for (String token : previous.tokens()) {
+            Roaring64Bitmap ids = postings.get(token);
+            if (ids != null) {
+                ids.removeLong(id);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private static List<Set<String>> tokenizeAll(Collection<String> ingredients) {
+        return ingredients.stream()
+                .map(RecipeIngredientIndex::tokenize)
+                .filter(tokens -> !tokens.isEmpty())
+                .toList();
+    }
+
+    private static Set<String> tokenize(String ingredient) {
+        if (ingredient == null) {
+            return Set.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(ingredient.toLowerCase(Locale.ROOT)))
+                .filter(token -> token.length() >= MIN_TOKEN_LENGTH)
+                .map(RecipeIngredientIndex::singular)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Drop common English plural endings, the same way for indexed and queried words
+     */
+    private static String singular(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 4 && word.endsWith("oes")) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    private record IndexedRecipe(long id, Set<String> tokens, LocalDateTime date) {
+    }
+}
@@ -0,0 +1,264 @@
+package recipes.index;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import recipes.conditional.ContentVersion;
+import recipes.event.RecipeCreatedEvent;
+import recipes.event.RecipeDeletedEvent;
+import recipes.event.RecipeUpdatedEvent;
+import recipes.pagination.SearchCursor;
+import recipes.repository.RecipeNameView;
+import recipes.repository.RecipeRepository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over recipe names
+ * <p>
+ * Names are split into lower-cased alphanumeric tokens and every suffix of every token is indexed,
+ * so a prefix lookup over suffixes finds all tokens containing a query token. Candidates are then
+ * checked against the whole query, which keeps the semantics of the former
+ * {@code lower(name) like %query%} scan.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeNameIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final Comparator<Map.Entry<Long, IndexedName>> NEWEST_FIRST =
+            Comparator.<Map.Entry<Long, IndexedName>, LocalDateTime>comparing(e -> e.getValue().date(),
+                            Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+
+    private final RecipeRepository repository;
+
+    private final NavigableMap<String, Set<Long>> suffixes = new TreeMap<>();
+    private final Map<Long, IndexedName> names = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Load names of all recipes from DB
+     */
+    @PostConstruct
+    public void rebuild() {
+        List<RecipeNameView> views = repository.findAllNames();
+
+        lock.writeLock().lock();
+        try {
+            suffixes.clear();
+            names.clear();
+            views.forEach(view -> add(view.getId(), view.getName(), view.getDate()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add recipe to the index or replace its previously indexed name
+     * @param id - recipe id
+     * @param name - recipe name
+     * @param date - recipe modification date, used for ordering
+     */
+    public void put(long id, String name, LocalDateTime date) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            add(id, name, date);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove recipe from the index
+     * @param id - recipe id
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RecipeCreatedEvent event) {
+        put(event.getRecipe().getId(), event.getRecipe().getName(), event.getRecipe().getDate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RecipeUpdatedEvent event) {
+        put(event.getRecipe().getId(), event.getRecipe().getName(), event.getRecipe().getDate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RecipeDeletedEvent event) {
+        remove(event.getId());
+    }
+
+    /**
+     * Find ids of recipes whose name contains specified text, ignoring case
+     * @param query - text to search for
+     * @return ids ordered by date, newest first,
+     * or empty optional if query has no alphanumeric characters and can't be answered by the index
+     */
+    public Optional<List<Long>> search(String query) {
+        return search(query, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Find ids of recipes whose name contains specified text, ignoring case
+     * @param query - text to search for
+     * @param after - position to continue search from, or null to start from the newest recipe
+     * @param limit - maximum number of ids to return
+     * @return ids ordered by date, newest first,
+     * or empty optional if query has no alphanumeric characters and can't be answered by the index
+     */
+    public Optional<List<Long>> search(String query, SearchCursor after, int limit) {
+        String normalizedQuery = normalize(query);
+        List<String> queryTokens = tokenize(normalizedQuery);
+
+        if (queryTokens.isEmpty()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            return Optional.of(matching(normalizedQuery, queryTokens).stream()
+                    .filter(e -> after == null || after.precedes(e.getValue().date(), e.getKey()))
+                    .sorted(NEWEST_FIRST)
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieve version of search results, i.e. number of recipes whose name contains specified text
+     * and their latest date
+     * @param query - text to search for
+     * @return version of all search results,
+     * or empty optional if query has no alphanumeric characters and can't be answered by the index
+     */
+    public Optional<ContentVersion> version(String query) {
+        String normalizedQuery = normalize(query);
+        List<String> queryTokens = tokenize(normalizedQuery);
+
+        if (queryTokens.isEmpty()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map.Entry<Long, IndexedName>> matches = matching(normalizedQuery, queryTokens);
+            LocalDateTime lastModified = matches.stream()
+                    .map(e -> e.getValue().date())
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder())
+                    .orElse(null);
+            return Optional.of(new ContentVersion(lastModified, matches.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find indexed names containing the whole query
+     * Must be called under read lock.
+     * @param normalizedQuery - lower-cased query
+     * @param queryTokens - tokens of the query, not empty
+     */
+    private List<Map.Entry<Long, IndexedName>> matching(String normalizedQuery, List<String> queryTokens) {
+        Set<Long> candidates = null;
+        for (String token : queryTokens) {
+            Set<Long> matches = idsOfTokensContaining(token);
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.retainAll(matches);
+            }
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        return candidates.stream()
+                .map(id -> Map.entry(id, names.get(id)))
+                .filter(e -> e.getValue().name().contains(normalizedQuery))
+                .toList();
+    }
+
+    private Set<Long> idsOfTokensContaining(String token) {
+        Set<Long> ids = new HashSet<>();
+        suffixes.subMap(token, true, token + Character.MAX_VALUE, true)
+                .values()
+                .forEach(ids::addAll);
+        return ids;
+    }
+
+    private void add(long id, String name, LocalDateTime date) {
+        String normalizedName = normalize(name);
+        names.put(id, new IndexedName(normalizedName, date));
+        for (String suffix : suffixesOf(normalizedName)) {
+            suffixes.computeIfAbsent(suffix, s -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void delete(long id) {
+        IndexedName previous = names.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String suffix : suffixesOf(previous.name())) {
+            Set<Long> ids = suffixes.get(suffix);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                suffixes.remove(suffix);
+            }
+        }
+    }
+
+    private static Set<String> suffixesOf(String normalizedName) {
+        Set<String> result = new HashSet<>();
+        for (String token : tokenize(normalizedName)) {
+            for (int i = 0; i < token.length(); i++) {
+                result.add(token.substring(i));
+            }
+        }
+        return result;
+    }
+
+    private static List<String> tokenize(String normalized) {
+        return Arrays.stream(TOKEN_SEPARATOR.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record IndexedName(String name, LocalDateTime date) {
+    }
+}
@@ -0,0 +1,406 @@
+package recipes.index;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import recipes.event.RecipeCreatedEvent;
+import recipes.event.RecipeDeletedEvent;
+import recipes.event.RecipeUpdatedEvent;
+import recipes.repository.RecipeNameView;
+import recipes.repository.RecipeRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory character trigram index over recipe names, answering typo-tolerant name search ranked by similarity
+ * <p>
+ * Names are lower-cased and split into alphanumeric words, every word padded with two spaces in front and one
+ * behind is cut into trigrams, so "tea" gives {@code "  t", " te", "tea", "ea "}. Recipes sharing a name share
+ * an indexed name, and every trigram maps to a compressed bitmap of indexed names containing it.
+ * </p>
+ * <p>
+ * A name is found when it contains at least {@code threshold} share of query trigrams. Names are ranked by
+ * the share of query trigrams they contain, then by trigram similarity of the whole names, so closer and shorter
+ * names go first. A name containing all but {@code j} of the query trigrams contains one of the {@code j + 1}
+ * rarest ones, so bitmaps of query trigrams are visited from the rarest. Query trigrams of newly visited names
+ * are counted with bitmap operations, splitting them into layers by the number of shared trigrams, and visiting
+ * stops as soon as enough names are found that no unvisited name can outrank, so bitmaps of common trigrams are
+ * mostly intersected with few names. Recipes of the best names are returned newest first.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeTrigramIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final Comparator<IndexedRecipe> NEWEST_FIRST =
+            Comparator.comparing(IndexedRecipe::date, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+                    .thenComparing(IndexedRecipe::id, Comparator.reverseOrder());
+
+    private final RecipeRepository repository;
+
+    private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+    private final Map<String, IndexedName> names = new HashMap<>();
+    private final Map<Long, IndexedRecipe> recipes = new HashMap<>();
+    private final List<IndexedName> slots = new ArrayList<>();
+    /*
+     * Number of trigrams, date and id of the newest recipe of the name in every slot,
+     * kept apart from names, so ranking doesn't visit them
+     */
+    private int[] trigramCounts = new int[0];
+    private long[] newestDates = new long[0];
+    private long[] newestIds = new long[0];
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Load names of all recipes from DB
+     */
+    @PostConstruct
+    public void rebuild() {
+        List<RecipeNameView> views = repository.findAllNames();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            names.clear();
+            recipes.clear();
+            slots.clear();
+            freeSlots.clear();
+            trigramCounts = new int[views.size()];
+            newestDates = new long[views.size()];
+            newestIds = new long[views.size()];
+            views.forEach(view -> add(view.getId(), view.getName(), view.getDate()));
+            postings.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add recipe to the index or replace its previously indexed name
+     * @param id - recipe id
+     * @param name - recipe name
+     * @param date - recipe modification date, used for ordering recipes of the same name
+     */
+    public void put(long id, String name, LocalDateTime date) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            add(id, name, date);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove recipe from the index
+     * @param id - recipe id
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RecipeCreatedEvent event) {
+        put(event.getRecipe().getId(), event.getRecipe().getName(), event.getRecipe().getDate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RecipeUpdatedEvent event) {
+        put(event.getRecipe().getId(), event.getRecipe().getName(), event.getRecipe().getDate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RecipeDeletedEvent event) {
+        remove(event.getId());
+    }
+
+    /**
+     * Find ids of recipes whose name is similar to specified text, ignoring case and typos
+     * @param query - text to search for
+     * @param threshold - minimal share of query trigrams a name must contain, from 0 exclusive to 1
+     * @param limit - maximum number of ids to return
+     * @return ids of the most similar names first, recipes of the same name newest first,
+     * empty if query has no alphanumeric characters
+     */
+    public List<Long> search(String query, double threshold, int limit) {
+        long[] queryTrigrams = trigramsOf(normalize(query));
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        int minShared = Math.max(1, (int) Math.ceil(threshold * queryTrigrams.length));
+
+        lock.readLock().lock();
+        try {
+            List<Match> best = bestNames(queryTrigrams, minShared, limit);
+
+            List<Long> result = new ArrayList<>(limit);
+            for (Match match : best) {
+                for (IndexedRecipe recipe : slots.get(match.slot()).recipes()) {
+                    result.add(recipe.id());
+                    if (result.size() == limit) {
+                        return result;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank indexed names containing at least specified number of query trigrams
+     * Must be called under read lock.
+     * @param queryTrigrams - sorted distinct trigrams of the query
+     * @param minShared - minimal number of query trigrams a name must contain
+     * @param limit - maximum number of names to return, every name has at least one recipe
+     * @return best names, best first
+     */
+    private List<Match> bestNames(long[] queryTrigrams, int minShared, int limit) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>(queryTrigrams.length);
+        for (long trigram : queryTrigrams) {
+            RoaringBitmap slotsWithTrigram = postings.get(trigram);
+            if (slotsWithTrigram != null) {
+                bitmaps.add(slotsWithTrigram);
+            }
+        }
+        if (bitmaps.size() < minShared) {
+            return List.of();
+        }
+        bitmaps.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+
+        // a name with n - j of n trigrams has one of the j + 1 rarest ones, so after visiting them
+        // every name with at least n - j trigrams is found; visiting stops as soon as there are enough of them,
+        // as names with fewer trigrams are worse, or once names with minShared trigrams are found
+        List<Match> found = new ArrayList<>();
+        int[] foundWithShared = new int[bitmaps.size() + 1];
+        int foundWithAtLeast = 0;
+        RoaringBitmap visited = new RoaringBitmap();
+        for (int j = 0; j <= bitmaps.size() - minShared && foundWithAtLeast < limit; j++) {
+            RoaringBitmap unvisited = RoaringBitmap.andNot(bitmaps.get(j), visited);
+            // newly visited names have none of the rarer trigrams, so they share one plus those counted in the rest
+            RoaringBitmap[] atLeast = countShared(bitmaps.subList(j + 1, bitmaps.size()), unvisited, minShared - 1);
+            for (int shared = bitmaps.size() - j; shared >= Math.max(1, minShared); shared--) {
+                RoaringBitmap withAtLeast = shared == 1 ? unvisited : atLeast[shared - 1];
+                RoaringBitmap layer = shared == bitmaps.size() - j
+                        ? withAtLeast
+                        : RoaringBitmap.andNot(withAtLeast, atLeast[shared]);
+                double coverage = (double) shared / queryTrigrams.length;
+                IntIterator slotIterator = layer.getIntIterator();
+                while (slotIterator.hasNext()) {
+                    int slot = slotIterator.next();
+                    found.add(new Match(slot, coverage,
+                            (double) shared / (queryTrigrams.length + trigramCounts[slot] - shared)));
+                }
+                foundWithShared[shared] += layer.getCardinality();
+            }
+            visited.or(unvisited);
+            foundWithAtLeast += foundWithShared[bitmaps.size() - j];
+        }
+
+        // worst of kept names on top, so it's the one replaced by a better match
+        Comparator<Match> bestFirst = this::compareBestFirst;
+        PriorityQueue<Match> best = new PriorityQueue<>(limit, bestFirst.reversed());
+        for (Match match : found) {
+            if (best.size() < limit) {
+                best.add(match);
+            } else if (compareBestFirst(match, best.peek()) < 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+
+        Match[] sorted = best.toArray(Match[]::new);
+        Arrays.sort(sorted, bestFirst);
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Count bitmaps containing every candidate by bitmap operations, without visiting candidates one by one
+     * After every counted bitmap, {@code atLeast[k]} holds candidates contained in at least k of the bitmaps so far.
+     * Bitmaps are counted rarest first, and candidates which can't reach minimal count in the remaining bitmaps
+     * are no longer counted, so large bitmaps of common trigrams are intersected with few candidates.
+     * @param bitmaps - bitmaps to count, rarest first
+     * @param candidates - values to count
+     * @param minCount - minimal count of a value to be counted exactly
+     * @return values contained in at least k bitmaps at index k, from 1 to number of bitmaps,
+     * exact for values contained in at least minCount bitmaps
+     */
+    private static RoaringBitmap[] countShared(List<RoaringBitmap> bitmaps, RoaringBitmap candidates, int minCount) {
+        RoaringBitmap[] atLeast = new RoaringBitmap[bitmaps.size() + 1];
+        for (int k = 1; k < atLeast.length; k++) {
+            atLeast[k] = new RoaringBitmap();
+        }
+        RoaringBitmap counted = candidates;
+        for (int i = 0; i < bitmaps.size(); i++) {
+            RoaringBitmap hits = RoaringBitmap.and(bitmaps.get(i), counted);
+            for (int k = i + 1; k >= 2; k--) {
+                atLeast[k].or(RoaringBitmap.and(atLeast[k - 1], hits));
+            }
+            atLeast[1].or(hits);
+
+            int remaining = bitmaps.size() - i - 1;
+            if (minCount - remaining > 1) {
+                counted = atLeast[minCount - remaining];
+            }
+        }
+        return atLeast;
+    }
+
+    /**
+     * Order matches by share of query trigrams, then by similarity, then by their newest recipe
+     */
+    private int compareBestFirst(Match first, Match second) {
+        int byCoverage = Double.compare(second.coverage(), first.coverage());
+        if (byCoverage != 0) {
+            return byCoverage;
+        }
+        int bySimilarity = Double.compare(second.similarity(), first.similarity());
+        if (bySimilarity != 0) {
+            return bySimilarity;
+        }
+        int byDate = Long.compare(newestDates[second.slot()], newestDates[first.slot()]);
+        if (byDate != 0) {
+            return byDate;
+        }
+        return Long.compare(newestIds[second.slot()], newestIds[first.slot()]);
+    }
+
+    private void updateNewest(IndexedName name) {
+        IndexedRecipe newest = name.recipes().first();
+        // recipes without date go last, as in NEWEST_FIRST
+        newestDates[name.slot()] = newest.date() == null
+                ? Long.MIN_VALUE
+                : newest.date().toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + newest.date().getNano();
+        newestIds[name.slot()] = newest.id();
+    }
+
+    private void add(long id, String name, LocalDateTime date) {
+        String normalizedName = normalize(name);
+        long[] trigrams = trigramsOf(normalizedName);
+        if (trigrams.length == 0) {
+            return;
+        }
+
+        IndexedName indexedName = names.get(normalizedName);
+        if (indexedName == null) {
+            int slot = freeSlots.isEmpty() ? slots.size() : freeSlots.pop();
+            indexedName = new IndexedName(slot, normalizedName, trigrams, new TreeSet<>(NEWEST_FIRST));
+            names.put(normalizedName, indexedName);
+            if (slot == slots.size()) {
+                slots.add(indexedName);
+            } else {
+                slots.set(slot, indexedName);
+            }
+            if (slot >= trigramCounts.length) {
+                int capacity = Math.max(16, trigramCounts.length * 2);
+                trigramCounts = Arrays.copyOf(trigramCounts, capacity);
+                newestDates = Arrays.copyOf(newestDates, capacity);
+                newestIds = Arrays.copyOf(newestIds, capacity);
+            }
+            trigramCounts[slot] = trigrams.length;
+            for (long trigram : trigrams) {
+                postings.computeIfAbsent(trigram, t -> new RoaringBitmap()).add(slot);
+            }
+        }
+
+        IndexedRecipe recipe = new IndexedRecipe(id, normalizedName, date);
+        indexedName.recipes().add(recipe);
+        updateNewest(indexedName);
+        recipes.put(id, recipe);
+    }
+
+    private void delete(long id) {
+        IndexedRecipe previous = recipes.remove(id);
+        if (previous == null) {
+            return;
+        }
+
+        IndexedName name = names.get(previous.name());
+        name.recipes().remove(previous);
+        if (!name.recipes().isEmpty()) {
+            updateNewest(name);
+            return;
+        }
+        names.remove(name.name());
+        slots.set(name.slot(), null);
+        freeSlots.push(name.slot());
+        for (long trigram : name.trigrams()) {
+            RoaringBitmap slotsWithTrigram = postings.get(trigram);
+            if (slotsWithTrigram != null) {
+                slotsWithTrigram.remove(name.slot());
+                if (slotsWithTrigram.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cut words of normalized text into padded trigrams, every trigram packed into a long
+     * @return sorted distinct trigrams
+     */
+    private static long[] trigramsOf(String normalized) {
+        long[] trigrams = new long[normalized.length() * 3 + 3];
+        int count = 0;
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + token + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams[count++] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16)
+                        | padded.charAt(i + 2);
+            }
+        }
+        return Arrays.stream(trigrams, 0, count).sorted().distinct().toArray();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Distinct normalized name with recipes having it, newest first
+     */
+    private record IndexedName(int slot, String name, long[] trigrams, NavigableSet<IndexedRecipe> recipes) {
+    }
+
+    private record IndexedRecipe(long id, String name, LocalDateTime date) {
+    }
+
+    /**
+     * Name found by a query
+     * @param slot - slot of the name
+     * @param coverage - share of query trigrams the name contains
+     * @param similarity - shared trigrams divided by distinct trigrams of both the name and the query
+     */
+    private record Match(int slot, double coverage, double similarity) {
+    }
+}
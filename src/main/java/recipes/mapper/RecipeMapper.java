@@ -9,14 +9,20 @@ import recipes.dto.request.UpdateRecipeRequest;
 import recipes.dto.response.CreateRecipeResponse;
 import recipes.dto.response.GetRecipeResponse;
 import recipes.entity.RecipeEntity;
+import recipes.readmodel.RecipeView;
 
 @Mapper(componentModel = "spring")
 public interface RecipeMapper {
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "categoryKey", ignore = true)
     RecipeEntity toEntity(CreateRecipeRequest recipeRequest);
 
     CreateRecipeResponse toCreateRecipeResponse(RecipeEntity entity);
     GetRecipeResponse toGetRecipeResponse(RecipeEntity entity);
+    GetRecipeResponse toGetRecipeResponse(RecipeView view);
+    RecipeView toRecipeView(RecipeEntity entity);
+    UpdateRecipeRequest toUpdateRecipeRequest(RecipeView view);
+    @Mapping(target = "categoryKey", ignore = true)
     void updateRecipeFromRequest(UpdateRecipeRequest recipeRequest, @MappingTarget RecipeEntity entity);
 
 }
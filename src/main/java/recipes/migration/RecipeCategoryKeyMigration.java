@@ -0,0 +1,42 @@
+package recipes.migration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import recipes.entity.RecipeEntity;
+
+import java.util.List;
+
+/**
+ * Fills category keys of recipes stored before the {@code CATEGORY_KEY} column was added
+ * <p>
+ * Keys are computed by {@link RecipeEntity#toCategoryKey(String)}, so they match keys of new recipes exactly.
+ * Recipes are updated per distinct category, which keeps the number of statements small.
+ * The column and its index are created by schema update.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeCategoryKeyMigration {
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        List<String> categories = jdbcTemplate.queryForList(
+                "select distinct CATEGORY from RECIPE where CATEGORY_KEY is null and CATEGORY is not null",
+                String.class);
+
+        int migrated = 0;
+        for (String category : categories) {
+            migrated += jdbcTemplate.update(
+                    "update RECIPE set CATEGORY_KEY = ? where CATEGORY = ? and CATEGORY_KEY is null",
+                    RecipeEntity.toCategoryKey(category), category);
+        }
+        if (migrated > 0) {
+            log.info("Category keys of {} recipes filled", migrated);
+        }
+    }
+}
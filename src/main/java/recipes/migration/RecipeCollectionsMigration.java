@@ -0,0 +1,143 @@
+package recipes.migration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import recipes.index.RecipeIngredientIndex;
+import recipes.readmodel.RecipeReadModel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves ingredients and directions of recipes stored before they became inline JSON columns
+ * <p>
+ * Previously both lists were kept in {@code RECIPE_ENTITY_INGREDIENTS} and {@code RECIPE_ENTITY_DIRECTIONS}
+ * tables, one row per item. Items are copied in the order they were inserted into recipes which have no
+ * inline lists yet, in batches of {@value #BATCH_SIZE} recipes. Old tables are kept as a fallback until
+ * the migration is verified and they are dropped manually, only their foreign keys to recipes are dropped,
+ * as nothing deletes their rows any more and they would otherwise prevent deleting migrated recipes.
+ * Foreign keys are dropped only after every batch is committed, so if the migration is interrupted,
+ * the next start copies the remaining recipes and drops them then.
+ * Ingredient index and read model are rebuilt if any recipe was migrated, as they may have been built before.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeCollectionsMigration {
+    private static final String INGREDIENTS_TABLE = "RECIPE_ENTITY_INGREDIENTS";
+    private static final String DIRECTIONS_TABLE = "RECIPE_ENTITY_DIRECTIONS";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final RecipeIngredientIndex ingredientIndex;
+    private final RecipeReadModel readModel;
+
+    @PostConstruct
+    public void migrate() {
+        boolean ingredientsTableExists = tableExists(INGREDIENTS_TABLE);
+        boolean directionsTableExists = tableExists(DIRECTIONS_TABLE);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select ID from RECIPE where INGREDIENTS is null or DIRECTIONS is null order by ID", Long.class);
+
+        if (!ids.isEmpty()) {
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+                transactionTemplate.executeWithoutResult(status ->
+                        migrate(batch, ingredientsTableExists, directionsTableExists));
+            }
+            log.info("Ingredients and directions of {} recipes moved to inline columns", ids.size());
+            ingredientIndex.rebuild();
+            readModel.rebuild();
+        }
+
+        if (ingredientsTableExists) {
+            dropForeignKeys(INGREDIENTS_TABLE);
+        }
+        if (directionsTableExists) {
+            dropForeignKeys(DIRECTIONS_TABLE);
+        }
+    }
+
+    /**
+     * Write inline lists of specified recipes
+     * Recipes absent in old tables get empty lists.
+     * @param ids - ascending ids of recipes to migrate
+     * @param ingredientsTableExists - whether old ingredients table can be read
+     * @param directionsTableExists - whether old directions table can be read
+     */
+    private void migrate(List<Long> ids, boolean ingredientsTableExists, boolean directionsTableExists) {
+        long fromId = ids.get(0);
+        long toId = ids.get(ids.size() - 1);
+        Map<Long, List<String>> ingredients = ingredientsTableExists
+                ? readItems(INGREDIENTS_TABLE, "INGREDIENTS", fromId, toId)
+                : Map.of();
+        Map<Long, List<String>> directions = directionsTableExists
+                ? readItems(DIRECTIONS_TABLE, "DIRECTIONS", fromId, toId)
+                : Map.of();
+
+        jdbcTemplate.batchUpdate("update RECIPE set INGREDIENTS = coalesce(INGREDIENTS, ? format json), " +
+                        "DIRECTIONS = coalesce(DIRECTIONS, ? format json) where ID = ?",
+                ids.stream()
+                        .map(id -> new Object[]{
+                                toJson(ingredients.getOrDefault(id, List.of())),
+                                toJson(directions.getOrDefault(id, List.of())),
+                                id})
+                        .toList());
+    }
+
+    /**
+     * Read items of recipes with ids in specified range, keeping order of rows within a recipe
+     */
+    private Map<Long, List<String>> readItems(String table, String column, long fromId, long toId) {
+        Map<Long, List<String>> items = new HashMap<>();
+        // rows have no order column, row id keeps insertion order
+        jdbcTemplate.query("select RECIPE_ENTITY_ID, " + column + " from " + table +
+                        " where RECIPE_ENTITY_ID between ? and ? order by RECIPE_ENTITY_ID, _ROWID_",
+                rs -> {
+                    items.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+                },
+                fromId, toId);
+        return items;
+    }
+
+    /**
+     * Drop foreign keys of old table, keeping its rows
+     */
+    private void dropForeignKeys(String table) {
+        List<String> constraints = jdbcTemplate.queryForList(
+                "select CONSTRAINT_NAME from INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+                        "where TABLE_NAME = ? and CONSTRAINT_TYPE = 'FOREIGN KEY'", String.class, table);
+        for (String constraint : constraints) {
+            jdbcTemplate.execute("alter table " + table + " drop constraint \"" + constraint + "\"");
+        }
+        if (!constraints.isEmpty()) {
+            log.info("Foreign keys of table {} dropped, it is kept until dropped manually as its items are stored inline",
+                    table);
+        }
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from INFORMATION_SCHEMA.TABLES where TABLE_NAME = ?", Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private String toJson(List<String> items) {
+        try {
+            return objectMapper.writeValueAsString(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package recipes.migration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import recipes.entity.RecipeEntity;
+
+/**
+ * Moves recipe id sequence past ids already present in DB
+ * <p>
+ * Recipe ids used to be generated by an identity column. Now they are taken from a pooled sequence,
+ * which hands out blocks of {@link RecipeEntity#ID_ALLOCATION_SIZE} ids ending at the fetched value,
+ * so the sequence must be ahead of the largest existing id by at least one block.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeIdSequenceMigration {
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        Long maxId = jdbcTemplate.queryForObject("select max(ID) from RECIPE", Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        Long nextValue = jdbcTemplate.queryForObject(
+                "select BASE_VALUE from INFORMATION_SCHEMA.SEQUENCES where SEQUENCE_NAME = ?",
+                Long.class, RecipeEntity.ID_SEQUENCE);
+        long minNextValue = maxId + RecipeEntity.ID_ALLOCATION_SIZE;
+
+        if (nextValue == null || nextValue < minNextValue) {
+            jdbcTemplate.execute("alter sequence " + RecipeEntity.ID_SEQUENCE + " restart with " + minNextValue);
+            log.info("Recipe id sequence restarted with {}", minNextValue);
+        }
+    }
+}
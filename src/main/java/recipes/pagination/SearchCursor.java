@@ -0,0 +1,67 @@
+package recipes.pagination;
+
+import lombok.Data;
+import recipes.exception.InvalidCursorException;
+import recipes.readmodel.RecipeView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset pagination cursor for recipe search results
+ * <p>
+ * Search results are ordered by {@code (date, id)} descending, so the position of the last returned
+ * recipe is enough to continue the search. The cursor is passed to clients as an opaque token.
+ * </p>
+ */
+@Data
+public class SearchCursor {
+    private static final String SEPARATOR = ",";
+
+    private final LocalDateTime date;
+    private final long id;
+
+    /**
+     * Create cursor pointing right after specified recipe
+     * @param recipe - last recipe of a page
+     */
+    public static SearchCursor after(RecipeView recipe) {
+        return new SearchCursor(recipe.getDate(), recipe.getId());
+    }
+
+    /**
+     * Check that recipe with specified position goes after the cursor in newest-first order
+     * @param date - recipe date
+     * @param id - recipe id
+     */
+    public boolean precedes(LocalDateTime date, long id) {
+        int byDate = date.compareTo(this.date);
+        return byDate < 0 || (byDate == 0 && id < this.id);
+    }
+
+    /**
+     * Encode cursor to opaque URL-safe token
+     */
+    public String encode() {
+        String raw = date + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode cursor from token previously produced by {@link #encode()}
+     * @param token - opaque cursor token
+     * @throws InvalidCursorException if token is malformed
+     */
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new SearchCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Cursor is malformed");
+        }
+    }
+}
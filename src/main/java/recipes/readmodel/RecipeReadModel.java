@@ -0,0 +1,187 @@
+package recipes.readmodel;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import recipes.event.RecipeCreatedEvent;
+import recipes.event.RecipeDeletedEvent;
+import recipes.event.RecipeUpdatedEvent;
+import recipes.repository.RecipeRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory read model of recipes
+ * <p>
+ * Keeps every recipe as a single denormalized {@link RecipeView}, so recipes are retrieved by id
+ * without touching DB. The model is built from DB on start and then kept up to date by recipe events,
+ * applied after the transaction publishing them commits, so rolled back changes never reach it.
+ * Events are applied before other after-commit work, so whatever reacts to a committed change already
+ * reads it from the model. Time from a change to its application is recorded by {@value #LAG_TIMER} timer.
+ * </p>
+ * <p>
+ * The model can be rebuilt from scratch at any time, see {@link #rebuild()}. Events applied while
+ * recipes are read from DB are replayed on top of the rebuilt model, so no change is lost.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RecipeReadModel {
+    public static final String LAG_TIMER = "recipes.read.model.lag";
+
+    private final RecipeRepository repository;
+    private final Timer lag;
+    private final Object rebuildLock = new Object();
+
+    private volatile Map<Long, RecipeView> recipes = new ConcurrentHashMap<>();
+    private volatile Instant rebuiltAt;
+    private volatile Instant lastEventAt;
+    /**
+     * Latest change of every recipe changed while rebuild reads recipes from DB,
+     * empty for deleted recipes, null if no rebuild is running
+     */
+    private Map<Long, Optional<RecipeView>> changedDuringRebuild;
+
+    public RecipeReadModel(RecipeRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.lag = Timer.builder(LAG_TIMER)
+                .description("Time from change of a recipe to its application to read model")
+                .register(meterRegistry);
+        Gauge.builder("recipes.read.model.size", this, readModel -> readModel.recipes.size())
+                .description("Number of recipes in read model")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replace read model with recipes currently stored in DB
+     * @return number of recipes in rebuilt model
+     */
+    @PostConstruct
+    public int rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changedDuringRebuild = new HashMap<>();
+            }
+
+            Map<Long, RecipeView> rebuilt = new ConcurrentHashMap<>();
+            try {
+                repository.findAllViews().forEach(view -> rebuilt.put(view.getId(), view));
+                synchronized (this) {
+                    changedDuringRebuild.forEach((id, change) -> replay(rebuilt, id, change));
+                    recipes = rebuilt;
+                    rebuiltAt = Instant.now();
+                }
+            } finally {
+                synchronized (this) {
+                    changedDuringRebuild = null;
+                }
+            }
+            log.info("Read model rebuilt with {} recipes", rebuilt.size());
+            return rebuilt.size();
+        }
+    }
+
+    /**
+     * Retrieve recipe by id
+     * @param id - recipe id
+     * @return recipe, or empty if there's no recipe with specified id
+     */
+    public Optional<RecipeView> get(long id) {
+        return Optional.ofNullable(recipes.get(id));
+    }
+
+    /**
+     * Retrieve recipes by ids keeping order of specified ids
+     * Ids of missing recipes are skipped.
+     * @param ids - recipe ids
+     */
+    public List<RecipeView> getAll(Collection<Long> ids) {
+        Map<Long, RecipeView> current = recipes;
+        List<RecipeView> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            RecipeView view = current.get(id);
+            if (view != null) {
+                found.add(view);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Retrieve current state of read model
+     */
+    public Status getStatus() {
+        return new Status(recipes.size(), rebuiltAt, lastEventAt, lag.count(),
+                Duration.ofNanos((long) lag.max(TimeUnit.NANOSECONDS)));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RecipeCreatedEvent event) {
+        apply(event.getRecipe().getId(), Optional.of(event.getRecipe()), event.getOccurredAt());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RecipeUpdatedEvent event) {
+        apply(event.getRecipe().getId(), Optional.of(event.getRecipe()), event.getOccurredAt());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RecipeDeletedEvent event) {
+        apply(event.getId(), Optional.empty(), event.getOccurredAt());
+    }
+
+    private synchronized void apply(long id, Optional<RecipeView> change, Instant occurredAt) {
+        replay(recipes, id, change);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(id, change);
+        }
+
+        Instant now = Instant.now();
+        lastEventAt = now;
+        lag.record(Duration.between(occurredAt, now));
+    }
+
+    /**
+     * Apply change of recipe unless the model already has a newer version of it
+     */
+    private static void replay(Map<Long, RecipeView> model, long id, Optional<RecipeView> change) {
+        if (change.isEmpty()) {
+            model.remove(id);
+            return;
+        }
+        RecipeView view = change.get();
+        model.merge(id, view, (current, changed) ->
+                current.getDate() != null && changed.getDate() != null && current.getDate().isAfter(changed.getDate())
+                        ? current
+                        : changed);
+    }
+
+    /**
+     * State of read model
+     * @param recipes - number of recipes
+     * @param rebuiltAt - time of the last rebuild
+     * @param lastEventAt - time the last event was applied, null if none was
+     * @param events - number of applied events
+     * @param maxLag - maximum recent time from a change to its application
+     */
+    public record Status(int recipes, Instant rebuiltAt, Instant lastEventAt, long events, Duration maxLag) {
+    }
+}
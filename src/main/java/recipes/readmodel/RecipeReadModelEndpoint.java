@@ -0,0 +1,33 @@
+package recipes.readmodel;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/readmodel} showing state of read model and rebuilding it on POST
+ */
+@Component
+@Endpoint(id = "readmodel")
+@RequiredArgsConstructor
+public class RecipeReadModelEndpoint {
+    private final RecipeReadModel readModel;
+
+    @ReadOperation
+    public RecipeReadModel.Status status() {
+        return readModel.getStatus();
+    }
+
+    /**
+     * Rebuild read model from scratch
+     * Scans the whole DB, so it is denied over HTTP, see {@link recipes.security.SecurityConfig}
+     * @return state of rebuilt read model
+     */
+    @WriteOperation
+    public RecipeReadModel.Status rebuild() {
+        readModel.rebuild();
+        return readModel.getStatus();
+    }
+}
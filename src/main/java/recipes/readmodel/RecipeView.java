@@ -0,0 +1,20 @@
+package recipes.readmodel;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Denormalized recipe kept by {@link RecipeReadModel}, everything needed to answer recipe queries
+ */
+@Value
+public class RecipeView {
+    long id;
+    String name;
+    String category;
+    String description;
+    List<String> ingredients;
+    List<String> directions;
+    LocalDateTime date;
+}
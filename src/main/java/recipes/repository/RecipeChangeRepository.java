@@ -0,0 +1,25 @@
+package recipes.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import recipes.entity.RecipeChangeEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RecipeChangeRepository extends CrudRepository<RecipeChangeEntity, Long> {
+    Slice<RecipeChangeEntity> findByIdGreaterThanOrderById(long id, Pageable pageable);
+
+    @Modifying
+    @Query("delete from RecipeChangeEntity c where c.recipeId in :recipeIds")
+    int deleteByRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Query("select r.id from RecipeEntity r " +
+            "where not exists (select c.id from RecipeChangeEntity c where c.recipeId = r.id) " +
+            "order by r.date, r.id")
+    List<Long> findRecipeIdsWithoutChange();
+}
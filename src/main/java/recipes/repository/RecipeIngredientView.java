@@ -0,0 +1,16 @@
+package recipes.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lightweight projection of recipe ingredients used to (re)build the in-memory ingredient index
+ * without loading full entities
+ */
+public interface RecipeIngredientView {
+    Long getId();
+
+    LocalDateTime getDate();
+
+    List<String> getIngredients();
+}
@@ -0,0 +1,15 @@
+package recipes.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a recipe used to (re)build the in-memory name index
+ * without loading full entities
+ */
+public interface RecipeNameView {
+    Long getId();
+
+    String getName();
+
+    LocalDateTime getDate();
+}
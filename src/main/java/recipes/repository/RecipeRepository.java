@@ -1,11 +1,93 @@
 package recipes.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import recipes.conditional.ContentVersion;
 import recipes.entity.RecipeEntity;
+import recipes.readmodel.RecipeView;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RecipeRepository extends CrudRepository<RecipeEntity, Long> {
     List<RecipeEntity> findByNameContainingIgnoreCaseOrderByDateDesc(String name);
-    List<RecipeEntity> findByCategoryIgnoreCaseOrderByDateDesc(String category);
+
+    Slice<RecipeEntity> findByNameContainingIgnoreCaseOrderByDateDescIdDesc(String name, Pageable pageable);
+
+    @Query("select r from RecipeEntity r where upper(r.name) like upper(:pattern) escape '\\' " +
+            "and (r.date < :date or (r.date = :date and r.id < :id)) order by r.date desc, r.id desc")
+    Slice<RecipeEntity> findByNameLikeAfter(@Param("pattern") String pattern,
+                                            @Param("date") LocalDateTime date,
+                                            @Param("id") long id,
+                                            Pageable pageable);
+
+    @Query("select r.id from RecipeEntity r where r.categoryKey = :categoryKey order by r.date desc, r.id desc")
+    Slice<Long> findIdsByCategoryKey(@Param("categoryKey") String categoryKey, Pageable pageable);
+
+    @Query("select r.id from RecipeEntity r where r.categoryKey = :categoryKey " +
+            "and (r.date < :date or (r.date = :date and r.id < :id)) order by r.date desc, r.id desc")
+    Slice<Long> findIdsByCategoryKeyAfter(@Param("categoryKey") String categoryKey,
+                                          @Param("date") LocalDateTime date,
+                                          @Param("id") long id,
+                                          Pageable pageable);
+
+    @Query("select new recipes.conditional.ContentVersion(max(r.date), count(r)) from RecipeEntity r " +
+            "where upper(r.name) like upper(:pattern) escape '\\'")
+    ContentVersion findVersionByNameLike(@Param("pattern") String pattern);
+
+    @Query("select new recipes.conditional.ContentVersion(max(r.date), count(r)) from RecipeEntity r " +
+            "where r.categoryKey = :categoryKey")
+    ContentVersion findVersionByCategoryKey(@Param("categoryKey") String categoryKey);
+
+    @Query("select r.category from RecipeEntity r where r.id = :id")
+    Optional<String> findCategoryById(@Param("id") long id);
+
+    @Modifying
+    @Query("update RecipeEntity r set r.name = :name, r.category = :category, r.categoryKey = :categoryKey, " +
+            "r.description = :description, r.ingredients = :ingredients, r.directions = :directions, " +
+            "r.date = :date where r.id = :id and r.author.id = :authorId")
+    int updateByIdAndAuthor(@Param("id") long id,
+                            @Param("authorId") long authorId,
+                            @Param("name") String name,
+                            @Param("category") String category,
+                            @Param("categoryKey") String categoryKey,
+                            @Param("description") String description,
+                            @Param("ingredients") List<String> ingredients,
+                            @Param("directions") List<String> directions,
+                            @Param("date") LocalDateTime date);
+
+    @Query("select count(r) > 0 from RecipeEntity r where r.id = :id and r.author.id = :authorId")
+    boolean existsByIdAndAuthor(@Param("id") long id, @Param("authorId") long authorId);
+
+    @Modifying
+    @Query("delete from RecipeEntity r where r.id = :id and r.author.id = :authorId")
+    int deleteByIdAndAuthor(@Param("id") long id, @Param("authorId") long authorId);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from RecipeEntity r where (:categoryKey is null or r.categoryKey = :categoryKey) " +
+            "and (:modifiedSince is null or r.date >= :modifiedSince) order by r.id")
+    Stream<RecipeEntity> streamByCategoryKeyAndModifiedSince(@Param("categoryKey") String categoryKey,
+                                                             @Param("modifiedSince") LocalDateTime modifiedSince);
+
+    @Query("select r.id as id, r.name as name, r.date as date from RecipeEntity r")
+    List<RecipeNameView> findAllNames();
+
+    @Query("select r.id as id, r.date as date, r.ingredients as ingredients from RecipeEntity r")
+    List<RecipeIngredientView> findAllIngredients();
+
+    @Query("select new recipes.readmodel.RecipeView(r.id, r.name, r.category, r.description, " +
+            "r.ingredients, r.directions, r.date) from RecipeEntity r")
+    List<RecipeView> findAllViews();
 }
@@ -0,0 +1,19 @@
+package recipes.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import recipes.entity.RecipeViewsEntity;
+
+import java.util.List;
+
+public interface RecipeViewsRepository extends CrudRepository<RecipeViewsEntity, Long> {
+    @Query("select v.recipeId as id, v.views as views, r.categoryKey as categoryKey " +
+            "from RecipeViewsEntity v join RecipeEntity r on r.id = v.recipeId")
+    List<RecipeViewsView> findAllWithCategory();
+
+    @Modifying
+    @Query("delete from RecipeViewsEntity v where v.recipeId = :recipeId")
+    int deleteByRecipeId(@Param("recipeId") long recipeId);
+}
@@ -0,0 +1,12 @@
+package recipes.repository;
+
+/**
+ * Persisted views of a recipe together with its category, used to (re)build view rankings
+ */
+public interface RecipeViewsView {
+    Long getId();
+
+    long getViews();
+
+    String getCategoryKey();
+}
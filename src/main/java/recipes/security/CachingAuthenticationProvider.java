@@ -0,0 +1,109 @@
+package recipes.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import recipes.config.CredentialsCacheProperties;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * Authentication provider remembering recently verified credentials
+ * <p>
+ * Successful authentications are delegated to {@link DaoAuthenticationProvider}, which loads the user
+ * from DB and verifies the password with BCrypt. The user and a keyed hash (HMAC-SHA256 with a key
+ * generated at startup) of the password are then kept for a short time, so repeated requests with
+ * the same credentials are verified by a constant-time hash comparison only.
+ * The password itself is never stored.
+ * </p>
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final DaoAuthenticationProvider delegate;
+    private final Cache<String, VerifiedCredentials> verifiedCredentials;
+    private final SecretKeySpec hashKey;
+
+    public CachingAuthenticationProvider(UserDetailsService userDetailsService,
+                                         PasswordEncoder passwordEncoder,
+                                         CredentialsCacheProperties properties) {
+        this.delegate = new DaoAuthenticationProvider(passwordEncoder);
+        this.delegate.setUserDetailsService(userDetailsService);
+        this.verifiedCredentials = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaximumSize())
+                .build();
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.hashKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+
+        if (credentials == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        byte[] credentialsHash = hash(username, credentials.toString());
+        VerifiedCredentials verified = verifiedCredentials.getIfPresent(username);
+
+        if (verified != null && MessageDigest.isEqual(verified.credentialsHash(), credentialsHash)) {
+            UserDetails user = verified.user();
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken
+                    .authenticated(user, null, user.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result.getPrincipal() instanceof UserDetails user) {
+            verifiedCredentials.put(username, new VerifiedCredentials(credentialsHash, user));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    /**
+     * Forget verified credentials of specified user
+     * Must be called when user's password is changed or user is removed
+     * @param username - username
+     */
+    public void evict(String username) {
+        verifiedCredentials.invalidate(username);
+    }
+
+    private byte[] hash(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hashKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to hash credentials", e);
+        }
+    }
+
+    private record VerifiedCredentials(byte[] credentialsHash, UserDetails user) {
+    }
+}
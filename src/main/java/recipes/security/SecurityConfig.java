@@ -1,15 +1,19 @@
 package recipes.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+import recipes.config.CredentialsCacheProperties;
 
 @Configuration
 public class SecurityConfig {
@@ -22,6 +26,10 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(new AntPathRequestMatcher("/actuator/shutdown")).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/h2-console/**")).permitAll()
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/metrics/**")).authenticated()
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/prometheus")).authenticated()
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/caches/**", HttpMethod.GET.name())).authenticated()
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/readmodel", HttpMethod.GET.name())).authenticated()
                         .requestMatchers(new MvcRequestMatcher(introspector, "/api/register")).permitAll()
                         .requestMatchers(new MvcRequestMatcher(introspector, "/api/**")).authenticated()
                         .anyRequest().denyAll()
@@ -33,7 +41,14 @@ public class SecurityConfig {
 
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public CachingAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                                PasswordEncoder passwordEncoder,
+                                                                CredentialsCacheProperties properties) {
+        return new CachingAuthenticationProvider(userDetailsService, passwordEncoder, properties);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 }
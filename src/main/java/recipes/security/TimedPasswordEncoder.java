@@ -0,0 +1,48 @@
+package recipes.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder recording time spent on hashing and verifying passwords
+ * <p>
+ * BCrypt is deliberately slow, so its time is published separately as {@value #TIMER_NAME} timer
+ * tagged with {@code operation} - {@code encode} or {@code matches}.
+ * </p>
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+    public static final String TIMER_NAME = "recipes.password.encoder";
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = timer("encode", meterRegistry);
+        this.matchesTimer = timer("matches", meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer timer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder(TIMER_NAME)
+                .description("Time of password hashing and verification")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,78 @@
+package recipes.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import recipes.config.MetricsConfig;
+import recipes.dto.response.GetRecipeResponse;
+import recipes.entity.RecipeEntity;
+import recipes.mapper.RecipeMapper;
+import recipes.repository.RecipeRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Service class for export of recipes
+ * <p>
+ * Recipes are read forward-only from a DB cursor and written as newline delimited JSON as they are read.
+ * Persistence context is cleared after every chunk of recipes, so memory usage doesn't depend
+ * on the number of exported recipes.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class RecipeExportService {
+    /**
+     * Number of recipes held in persistence context at once
+     */
+    private static final int CHUNK_SIZE = 100;
+
+    private final RecipeRepository repository;
+    private final RecipeMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    /**
+     * Write recipes to stream as newline delimited JSON, ordered by id
+     * @param category - category of exported recipes, or null for all categories
+     * @param modifiedSince - export only recipes modified at this time or later, or null for all recipes
+     * @param out - stream to write to
+     * @throws IOException if stream can't be written
+     */
+    @Transactional(readOnly = true)
+    public void exportRecipes(String category, LocalDateTime modifiedSince, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(GetRecipeResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try (Stream<RecipeEntity> recipes = repository.streamByCategoryKeyAndModifiedSince(
+                RecipeEntity.toCategoryKey(category), modifiedSince)) {
+            Iterator<RecipeEntity> iterator = recipes.iterator();
+            List<RecipeEntity> chunk = new ArrayList<>(CHUNK_SIZE);
+
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    for (RecipeEntity recipe : chunk) {
+                        writer.writeValue(out, mapper.toGetRecipeResponse(recipe));
+                        out.write('\n');
+                    }
+                    out.flush();
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package recipes.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import recipes.config.MetricsConfig;
+import recipes.config.ImportProperties;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.response.ImportRecipesResponse;
+import recipes.dto.response.ImportRecipesResponse.ImportError;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for bulk import of recipes
+ * <p>
+ * Reads recipes one by one from a JSON array or newline delimited JSON stream,
+ * validates each of them and creates valid ones in batches of configured size.
+ * Invalid recipes are reported by their position in the stream and don't fail the whole import.
+ * A batch rejected by DB is written again one recipe at a time, so only recipes DB rejects are reported.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class RecipeImportService {
+    private final RecipesService recipesService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ImportProperties importProperties;
+
+    /**
+     * Import recipes from stream
+     * Requires authentication
+     * Authenticated user becomes an author of all imported recipes
+     * @param json - JSON array of recipes or newline delimited JSON recipes
+     * @param details - details of authenticated user
+     * @return ids of created recipes and errors of rejected ones
+     * @throws IOException if stream can't be read
+     */
+    public ImportRecipesResponse importRecipes(InputStream json, UserDetails details) throws IOException {
+        Batch batch = new Batch(details);
+
+        try (MappingIterator<CreateRecipeRequest> recipes = objectMapper
+                .readerFor(CreateRecipeRequest.class)
+                .readValues(json)) {
+            for (long index = 0; ; index++) {
+                CreateRecipeRequest request;
+                try {
+                    if (!recipes.hasNextValue()) {
+                        break;
+                    }
+                    request = recipes.nextValue();
+                } catch (JsonParseException e) {
+                    batch.reject(index, "Malformed JSON: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    batch.reject(index, e.getOriginalMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<CreateRecipeRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    batch.reject(index, describe(violations));
+                    continue;
+                }
+
+                batch.add(index, request);
+                if (batch.size() >= importProperties.getBatchSize()) {
+                    batch.write();
+                }
+            }
+        }
+
+        batch.write();
+        return batch.toResponse();
+    }
+
+    private static String describe(Set<ConstraintViolation<CreateRecipeRequest>> violations) {
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Recipes waiting to be written together with result of already written ones
+     */
+    @RequiredArgsConstructor
+    private class Batch {
+        private final UserDetails details;
+        private final List<Long> indexes = new ArrayList<>();
+        private final List<CreateRecipeRequest> requests = new ArrayList<>();
+        private final List<Long> ids = new ArrayList<>();
+        private final List<ImportError> errors = new ArrayList<>();
+
+        void add(long index, CreateRecipeRequest request) {
+            indexes.add(index);
+            requests.add(request);
+        }
+
+        void reject(long index, String message) {
+            errors.add(new ImportError(index, message));
+        }
+
+        int size() {
+            return requests.size();
+        }
+
+        void write() {
+            if (requests.isEmpty()) {
+                return;
+            }
+            try {
+                ids.addAll(recipesService.createRecipes(requests, details));
+            } catch (PersistenceException | DataAccessException e) {
+                // each batch is written in a transaction of its own, so the rejected batch left nothing behind
+                for (int i = 0; i < requests.size(); i++) {
+                    writeOne(indexes.get(i), requests.get(i));
+                }
+            }
+            indexes.clear();
+            requests.clear();
+        }
+
+        private void writeOne(long index, CreateRecipeRequest request) {
+            try {
+                ids.addAll(recipesService.createRecipes(List.of(request), details));
+            } catch (PersistenceException | DataAccessException e) {
+                reject(index, "Recipe was not saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+
+        ImportRecipesResponse toResponse() {
+            errors.sort(Comparator.comparingLong(ImportError::getIndex));
+            return new ImportRecipesResponse(ids.size(), ids, errors);
+        }
+    }
+}
@@ -1,34 +1,105 @@
 package recipes.service;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
-import recipes.entity.UserEntity;
+import org.springframework.transaction.annotation.Transactional;
+import recipes.config.MetricsConfig;
+import recipes.adapter.UserEntityAdapter;
+import recipes.cache.CategoryVersions;
+import recipes.cache.RecipeResponseCache;
+import recipes.conditional.ContentVersion;
+import recipes.config.SearchProperties;
+import recipes.dto.response.RecipesBatch;
+import recipes.dto.response.RecipesPage;
+import recipes.exception.InvalidParametersCountException;
+import recipes.exception.InvalidRecipeIdsException;
+import recipes.exception.InvalidRecipePatchException;
+import recipes.exception.RecipeModifiedConcurrentlyException;
 import recipes.exception.RecipeNotFoundException;
 import recipes.dto.request.CreateRecipeRequest;
 import recipes.dto.request.UpdateRecipeRequest;
 import recipes.dto.response.CreateRecipeResponse;
 import recipes.dto.response.GetRecipeResponse;
+import recipes.dto.response.PopularRecipeResponse;
 import recipes.entity.RecipeEntity;
+import recipes.entity.UserEntity;
+import recipes.event.RecipeCreatedEvent;
+import recipes.event.RecipeDeletedEvent;
+import recipes.event.RecipeUpdatedEvent;
 import recipes.exception.UserIsNotAuthorException;
+import recipes.index.IngredientMatch;
+import recipes.index.RecipeIngredientIndex;
+import recipes.index.RecipeNameIndex;
+import recipes.index.RecipeTrigramIndex;
 import recipes.mapper.RecipeMapper;
+import recipes.pagination.SearchCursor;
+import recipes.readmodel.RecipeReadModel;
+import recipes.readmodel.RecipeView;
 import recipes.repository.RecipeRepository;
+import recipes.repository.RecipeViewsRepository;
+import recipes.views.RecipeViewCounter;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Service class for managing recipes
  * <p>
  * This class provides methods for finding, creating, updating, and deleting recipes.
+ * Changes are written to DB and published as recipe events, recipes are read from {@link RecipeReadModel}
+ * kept up to date by these events.
  * </p>
  */
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class RecipesService {
+    public static final String CATEGORY_SEARCH_CACHE = "categorySearch";
+
     private final RecipeRepository repository;
     private final UserService userService;
     private final RecipeMapper mapper;
+    private final RecipeNameIndex nameIndex;
+    private final RecipeIngredientIndex ingredientIndex;
+    private final RecipeTrigramIndex trigramIndex;
+    private final RecipeReadModel readModel;
+    private final RecipeViewCounter viewCounter;
+    private final RecipeViewsRepository viewsRepository;
+    private final RecipeResponseCache responseCache;
+    private final CategoryVersions categoryVersions;
+    private final SearchProperties searchProperties;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new recipe
@@ -37,15 +108,46 @@ public class RecipesService {
      * @param details - details of authenticated user
      * @return DTO representing HTTP response with recipe details
      */
+    @Transactional
     public CreateRecipeResponse createRecipe(CreateRecipeRequest recipeRequest, UserDetails details) {
         RecipeEntity recipeEntity = mapper.toEntity(recipeRequest);
-        UserEntity userEntity = userService.findUserByUsername(details.getUsername());
-        recipeEntity.setAuthor(userEntity);
+        recipeEntity.setAuthor(userService.getUserReference(authorIdOf(details)));
 
         RecipeEntity savedRecipeEntity = repository.save(recipeEntity);
+        entityManager.flush();
+        categoryVersions.bump(savedRecipeEntity.getCategory());
+        eventPublisher.publishEvent(new RecipeCreatedEvent(mapper.toRecipeView(savedRecipeEntity), Instant.now()));
         return mapper.toCreateRecipeResponse(savedRecipeEntity);
     }
 
+    /**
+     * Create a batch of new recipes in one transaction
+     * Requires authentication
+     * Inserts are sent to DB in JDBC batches, see {@code hibernate.jdbc.batch_size}.
+     * Persistence context is cleared afterwards, so consecutive batches don't accumulate entities.
+     * @param recipeRequests - new recipes details, already validated
+     * @param details - details of authenticated user
+     * @return ids of created recipes in order of requests
+     */
+    @Transactional
+    public List<Long> createRecipes(List<CreateRecipeRequest> recipeRequests, UserDetails details) {
+        UserEntity author = userService.getUserReference(authorIdOf(details));
+        List<RecipeEntity> recipeEntities = recipeRequests.stream()
+                .map(mapper::toEntity)
+                .collect(Collectors.toList());
+        recipeEntities.forEach(recipeEntity -> recipeEntity.setAuthor(author));
+
+        repository.saveAll(recipeEntities);
+        entityManager.flush();
+        entityManager.clear();
+
+        recipeEntities.stream().map(RecipeEntity::getCategory).distinct().forEach(categoryVersions::bump);
+        Instant occurredAt = Instant.now();
+        recipeEntities.forEach(recipeEntity ->
+                eventPublisher.publishEvent(new RecipeCreatedEvent(mapper.toRecipeView(recipeEntity), occurredAt)));
+        return recipeEntities.stream().map(RecipeEntity::getId).collect(Collectors.toList());
+    }
+
     /**
      * Convert recipe entity to DTO representing HTTP response
      * @param recipeEntity - recipe entity from DB
@@ -55,6 +157,94 @@ public class RecipesService {
         return mapper.toGetRecipeResponse(recipeEntity);
     }
 
+    /**
+     * Retrieve recipe details by specified id
+     * Served from read model, without touching DB
+     * @param id - recipe id
+     * @return DTO representing HTTP response with recipe details
+     * @throws RecipeNotFoundException if recipe with specified id doesn't exist
+     */
+    public GetRecipeResponse getRecipeResponseById(long id) {
+        return mapper.toGetRecipeResponse(getRecipeViewById(id));
+    }
+
+    /**
+     * Retrieve version of recipe with specified id
+     * Served from read model, without touching DB
+     * @param id - recipe id
+     * @return version built from recipe modification date
+     * @throws RecipeNotFoundException if recipe with specified id doesn't exist
+     */
+    public ContentVersion getRecipeVersion(long id) {
+        return ContentVersion.of(getRecipeViewById(id).getDate());
+    }
+
+    /**
+     * Retrieve recipes by specified ids, keeping order of requested ids
+     * Served from read model, without touching DB. Repeated ids are returned once.
+     * @param ids - recipe ids, at most maximum page size of them
+     * @return found recipes and ids of missing ones
+     * @throws InvalidParametersCountException if more ids than maximum page size are requested
+     * @throws InvalidRecipeIdsException if some of ids is empty
+     */
+    public RecipesBatch getRecipesByIds(List<Long> ids) {
+        // empty values of comma separated ids are bound as nulls
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidRecipeIdsException("'ids' must not contain empty ids.");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > searchProperties.getMaxPageSize()) {
+            throw new InvalidParametersCountException(
+                    "At most " + searchProperties.getMaxPageSize() + " 'ids' can be requested at once.");
+        }
+
+        List<RecipesBatch.Item> found = new ArrayList<>(distinctIds.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : distinctIds) {
+            readModel.get(id).ifPresentOrElse(
+                    view -> found.add(new RecipesBatch.Item(id, mapper.toGetRecipeResponse(view))),
+                    () -> missing.add(id));
+        }
+        return new RecipesBatch(found, missing);
+    }
+
+    /**
+     * Retrieve version of recipes retrieved by ids
+     * Computed from ids and dates of the found recipes, so it changes whenever one of them is updated,
+     * deleted or created
+     * @param batch - recipes retrieved by {@link #getRecipesByIds(List)}
+     */
+    public ContentVersion getBatchVersionOf(RecipesBatch batch) {
+        return ContentVersion.ofOrdered(
+                batch.getRecipes().stream().map(RecipesBatch.Item::getId).toList(),
+                batch.getRecipes().stream().map(item -> item.getRecipe().getDate()).toList());
+    }
+
+    /**
+     * Retrieve the most viewed recipes, the most viewed first
+     * Ranked by views flushed to DB, recipes are taken from read model.
+     * @param category - category of recipes, case insensitive, or null for recipes of all categories
+     * @param size - maximum number of recipes, bounded by ranking size
+     */
+    public List<PopularRecipeResponse> getMostViewedRecipes(String category, int size) {
+        List<PopularRecipeResponse> recipes = new ArrayList<>();
+        for (RecipeViewCounter.RecipeViews views : viewCounter.getMostViewed(category, size)) {
+            readModel.get(views.id()).ifPresent(view -> recipes.add(
+                    new PopularRecipeResponse(views.id(), views.views(), mapper.toGetRecipeResponse(view))));
+        }
+        return recipes;
+    }
+
+    /**
+     * Retrieve recipe by specified id from read model
+     * @param id - recipe id
+     * @throws RecipeNotFoundException if recipe with specified id doesn't exist
+     */
+    private RecipeView getRecipeViewById(long id) {
+        return readModel.get(id)
+                .orElseThrow(() -> new RecipeNotFoundException());
+    }
+
     /**
      * Retrieve recipe by specified id
      * @param id - recipe id
@@ -69,87 +259,337 @@ public class RecipesService {
     /**
      * Delete recipe by specified id from DB
      * Requires authentication
-     * Only recipe author can delete recipe from DB
+     * Only recipe author can delete recipe from DB.
+     * Authorship is checked by the delete statement itself.
+     * Cached search results of recipe category are invalidated and views of the recipe are deleted.
      * @param id - recipe id
      * @param details - details of authenticated user
      * @throws RecipeNotFoundException if recipe with specified id doesn't exist
      * @throws UserIsNotAuthorException if method called not by an author of recipe
      */
+    @Transactional
     public void deleteRecipeById(long id, UserDetails details) {
-        validateRecipeExists(id);
-        RecipeEntity existingRecipe = getRecipeById(id);
-        validateUserIsAuthor(existingRecipe, details);
-        repository.deleteById(id);
+        Optional<String> category = repository.findCategoryById(id);
+        int deleted = repository.deleteByIdAndAuthor(id, authorIdOf(details));
+
+        if (deleted == 0) {
+            throw recipeNotFoundOrUserIsNotAuthor(id);
+        }
+        viewsRepository.deleteByRecipeId(id);
+        responseCache.evict(id);
+        category.ifPresent(categoryVersions::bump);
+        eventPublisher.publishEvent(new RecipeDeletedEvent(id, Instant.now()));
     }
 
     /**
      * Update recipes by specified id
      * Requires authentication
      * Only an author of recipe can update it.
+     * Authorship is checked by the update statement itself,
+     * which writes ingredients and directions in the same row.
+     * Cached search results of both previous and new recipe category are invalidated.
      * @param request
      * @param id
      * @param details
      * @throws RecipeNotFoundException if recipe with specified id doesn't exist
      * @throws UserIsNotAuthorException if method called not by an author of recipe
      */
+    @Transactional
     public void updateRecipe(UpdateRecipeRequest request, long id, UserDetails details) {
-        validateRecipeExists(id);
-        RecipeEntity existingRecipe = getRecipeById(id);
-        validateUserIsAuthor(existingRecipe, details);
-        updateAndSaveRecipe(request, existingRecipe);
+        // truncated to precision of DATE column, so indexes, read model and DB agree on recipe version
+        LocalDateTime date = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Optional<String> previousCategory = repository.findCategoryById(id);
+        int updated = repository.updateByIdAndAuthor(id, authorIdOf(details),
+                request.getName(), request.getCategory(), RecipeEntity.toCategoryKey(request.getCategory()),
+                request.getDescription(), request.getIngredients(), request.getDirections(), date);
+
+        if (updated == 0) {
+            throw recipeNotFoundOrUserIsNotAuthor(id);
+        }
+        responseCache.evict(id);
+        previousCategory.ifPresent(categoryVersions::bump);
+        categoryVersions.bump(request.getCategory());
+        eventPublisher.publishEvent(new RecipeUpdatedEvent(new RecipeView(id, request.getName(), request.getCategory(),
+                request.getDescription(), request.getIngredients(), request.getDirections(), date), Instant.now()));
+    }
+
+    /**
+     * Update recipe by specified id with JSON merge patch, writing only changed columns
+     * Requires authentication
+     * Only an author of recipe can update it.
+     * The patch is applied to the current recipe, see RFC 7396: present fields replace current values,
+     * lists as a whole, and fields set to null are removed, so the patched recipe fails validation.
+     * A single update statement, checking authorship, writes only columns whose value changed and the date,
+     * so unchanged ingredients and directions aren't rewritten. A patch changing nothing writes nothing.
+     * The patch is applied to the recipe of read model, so the update also checks the recipe date is still
+     * the one the patch was applied to. Otherwise the recipe was modified since and the patch fails,
+     * rather than publishing a recipe missing the concurrent modification.
+     * @param patch - JSON merge patch of recipe fields
+     * @param id - recipe id
+     * @param details - details of authenticated user
+     * @throws InvalidRecipePatchException if patch isn't a JSON object or patched recipe is invalid
+     * @throws RecipeNotFoundException if recipe with specified id doesn't exist
+     * @throws UserIsNotAuthorException if method called not by an author of recipe
+     * @throws RecipeModifiedConcurrentlyException if recipe was modified while the patch was applied
+     */
+    @Transactional
+    public void patchRecipe(JsonNode patch, long id, UserDetails details) {
+        RecipeView current = getRecipeViewById(id);
+        UpdateRecipeRequest patched = applyMergePatch(patch, current);
+        long authorId = authorIdOf(details);
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfChanged(changes, "name", current.getName(), patched.getName());
+        putIfChanged(changes, "category", current.getCategory(), patched.getCategory());
+        if (changes.containsKey("category")) {
+            changes.put("categoryKey", RecipeEntity.toCategoryKey(patched.getCategory()));
+        }
+        putIfChanged(changes, "description", current.getDescription(), patched.getDescription());
+        putIfChanged(changes, "ingredients", current.getIngredients(), patched.getIngredients());
+        putIfChanged(changes, "directions", current.getDirections(), patched.getDirections());
+        if (changes.isEmpty()) {
+            if (!repository.existsByIdAndAuthor(id, authorId)) {
+                throw recipeNotFoundOrUserIsNotAuthor(id);
+            }
+            return;
+        }
+
+        // truncated to precision of DATE column, so indexes, read model and DB agree on recipe version
+        LocalDateTime date = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        changes.put("date", date);
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<RecipeEntity> update = builder.createCriteriaUpdate(RecipeEntity.class);
+        Root<RecipeEntity> recipe = update.from(RecipeEntity.class);
+        changes.forEach(update::set);
+        update.where(builder.equal(recipe.get("id"), id), builder.equal(recipe.get("author").get("id"), authorId),
+                builder.equal(recipe.get("date"), current.getDate()));
+        if (entityManager.createQuery(update).executeUpdate() == 0) {
+            if (repository.existsByIdAndAuthor(id, authorId)) {
+                throw new RecipeModifiedConcurrentlyException("Recipe was modified while the patch was applied");
+            }
+            throw recipeNotFoundOrUserIsNotAuthor(id);
+        }
+
+        responseCache.evict(id);
+        categoryVersions.bump(current.getCategory());
+        categoryVersions.bump(patched.getCategory());
+        eventPublisher.publishEvent(new RecipeUpdatedEvent(new RecipeView(id, patched.getName(), patched.getCategory(),
+                patched.getDescription(), patched.getIngredients(), patched.getDirections(), date), Instant.now()));
     }
 
     /**
-     * Update recipe entity with changes from incoming HTTP request
-     * Save updated recipe entity to DB
-     * @param request - incoming HTTP request with modified recipe details
-     * @param existingRecipe - existing recipe entity from DB
+     * Apply JSON merge patch to recipe and validate the result
+     * @param patch - JSON merge patch of recipe fields
+     * @param current - recipe to patch
+     * @return patched recipe details
+     * @throws InvalidRecipePatchException if patch isn't a JSON object or patched recipe is invalid
      */
-    private void updateAndSaveRecipe(UpdateRecipeRequest request, RecipeEntity existingRecipe) {
-        mapper.updateRecipeFromRequest(request, existingRecipe);
-        repository.save(existingRecipe);
+    private UpdateRecipeRequest applyMergePatch(JsonNode patch, RecipeView current) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidRecipePatchException("Merge patch must be a JSON object");
+        }
+        UpdateRecipeRequest patched;
+        try {
+            patched = objectMapper.readerForUpdating(mapper.toUpdateRecipeRequest(current)).readValue(patch);
+        } catch (JsonMappingException e) {
+            throw new InvalidRecipePatchException(e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new InvalidRecipePatchException(e.getMessage());
+        }
+
+        Set<ConstraintViolation<UpdateRecipeRequest>> violations = validator.validate(patched);
+        if (!violations.isEmpty()) {
+            throw new InvalidRecipePatchException(violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining("; ")));
+        }
+        return patched;
+    }
+
+    private static void putIfChanged(Map<String, Object> changes, String attribute, Object current, Object patched) {
+        if (!Objects.equals(current, patched)) {
+            changes.put(attribute, patched);
+        }
     }
 
     /**
-     * Check that authenticates user is an author of specified recipe
-     * @param existingRecipe - specified recipe
+     * Retrieve id of authenticated user
+     * Taken from the user entity loaded during authentication, so no DB query is needed
      * @param details - details of authenticated user
-     * @throws UserIsNotAuthorException if method called not by an author of recipe
      */
-    private void validateUserIsAuthor(RecipeEntity existingRecipe, UserDetails details) {
-        if (!details.getUsername().equals(existingRecipe.getAuthor().getUsername())) {
-            throw new UserIsNotAuthorException("User is not an author of current recipe");
+    private long authorIdOf(UserDetails details) {
+        if (details instanceof UserEntityAdapter adapter && adapter.getUserEntity().getId() != null) {
+            return adapter.getUserEntity().getId();
         }
+        return userService.findUserByUsername(details.getUsername()).getId();
     }
 
     /**
-     * Check that recipe with specified id exists in DB
+     * Explain why conditional update or delete of recipe affected no rows
+     * Transaction is rolled back by the thrown exception
      * @param id - recipe id
-     * @throws RecipeNotFoundException if recipe with specified id doesn't exist
+     * @return RecipeNotFoundException if recipe with specified id doesn't exist,
+     * UserIsNotAuthorException otherwise
      */
-    private void validateRecipeExists(long id) {
+    private RuntimeException recipeNotFoundOrUserIsNotAuthor(long id) {
         if (!repository.existsById(id)) {
-            throw new RecipeNotFoundException();
+            return new RecipeNotFoundException();
         }
+        return new UserIsNotAuthorException("User is not an author of current recipe");
+    }
+
+    /**
+     * Retrieve page of recipes by recipe name
+     * Looks up matching ids in the name index and falls back to DB scan
+     * only for queries the index can't answer, found recipes are taken from read model
+     * @param name
+     * @param after - position to continue search from, or null for the first page
+     * @param size - requested page size, or null for default page size
+     */
+    @Transactional(readOnly = true)
+    public RecipesPage searchRecipesByName(String name, SearchCursor after, Integer size) {
+        int pageSize = pageSize(size);
+        Optional<List<Long>> indexedIds = nameIndex.search(name, after, pageSize + 1);
+
+        if (indexedIds.isPresent()) {
+            List<Long> ids = indexedIds.get();
+            boolean hasNext = ids.size() > pageSize;
+            return toRecipesPage(readModel.getAll(hasNext ? ids.subList(0, pageSize) : ids), hasNext);
+        }
+
+        Pageable pageable = PageRequest.ofSize(pageSize);
+        Slice<RecipeEntity> recipeEntities = after == null
+                ? repository.findByNameContainingIgnoreCaseOrderByDateDescIdDesc(name, pageable)
+                : repository.findByNameLikeAfter(containingPattern(name), after.getDate(), after.getId(), pageable);
+        return toRecipesPage(recipeEntities.map(mapper::toRecipeView).getContent(), recipeEntities.hasNext());
+    }
+
+    /**
+     * Retrieve recipes whose name is similar to specified name, tolerating typos
+     * Found in the trigram index, the most similar names first, recipes are taken from read model.
+     * Results are a single ranked page, they aren't paged by cursor.
+     * @param name
+     * @param size - requested number of recipes, or null for default page size
+     */
+    public RecipesPage searchRecipesByNameFuzzy(String name, Integer size) {
+        List<Long> ids = trigramIndex.search(name, searchProperties.getFuzzyThreshold(), pageSize(size));
+        return toRecipesPage(readModel.getAll(ids), false);
     }
 
     /**
-     * Retrieve list of recipes by recipe name
+     * Retrieve version of recipes found by fuzzy search by recipe name
+     * Computed from ids and dates of the found recipes in ranking order, so it changes whenever one of them
+     * or the ranking changes
+     * @param page - recipes found by {@link #searchRecipesByNameFuzzy(String, Integer)}
+     */
+    public ContentVersion getSearchVersionOf(RecipesPage page) {
+        return ContentVersion.ofOrdered(page.getIds(),
+                page.getRecipes().stream().map(GetRecipeResponse::getDate).toList());
+    }
+
+    /**
+     * Retrieve version of all results of search by recipe name
+     * Computed from the name index, or by a DB aggregate for queries the index can't answer,
+     * no recipes are loaded
      * @param name
      */
-    public List<GetRecipeResponse> searchRecipesByName(String name) {
-        List<RecipeEntity> recipeEntities = repository.findByNameContainingIgnoreCaseOrderByDateDesc(name);
-        List<GetRecipeResponse> recipesDto = recipeEntities.stream().map(mapper::toGetRecipeResponse).collect(Collectors.toList());
-        return recipesDto;
+    @Transactional(readOnly = true)
+    public ContentVersion getSearchVersionByName(String name) {
+        return nameIndex.version(name)
+                .orElseGet(() -> repository.findVersionByNameLike(containingPattern(name)));
+    }
+
+    /**
+     * Retrieve version of all results of search by recipe category
+     * Computed by a DB aggregate, no recipes are loaded.
+     * Served from {@value #CATEGORY_SEARCH_CACHE} cache while category version doesn't change.
+     * @param category
+     */
+    @Cacheable(cacheNames = CATEGORY_SEARCH_CACHE, key = "@categoryVersions.versionKey(#category)")
+    @Transactional(readOnly = true)
+    public ContentVersion getSearchVersionByCategory(String category) {
+        return repository.findVersionByCategoryKey(RecipeEntity.toCategoryKey(category));
+    }
+
+    /**
+     * Retrieve page of recipes by ingredients
+     * Matching ids are found in the ingredient index, recipes of the page are taken from read model
+     * @param ingredients - queried ingredients
+     * @param match - whether recipe must use all or any of queried ingredients
+     * @param after - position to continue search from, or null for the first page
+     * @param size - requested page size, or null for default page size
+     */
+    @Transactional(readOnly = true)
+    public RecipesPage searchRecipesByIngredients(List<String> ingredients, IngredientMatch match,
+                                                  SearchCursor after, Integer size) {
+        int pageSize = pageSize(size);
+        List<Long> ids = ingredientIndex.search(ingredients, match, after, pageSize + 1);
+        boolean hasNext = ids.size() > pageSize;
+        return toRecipesPage(readModel.getAll(hasNext ? ids.subList(0, pageSize) : ids), hasNext);
+    }
+
+    /**
+     * Retrieve version of all results of search by ingredients
+     * Computed from the ingredient index, no recipes are loaded
+     * @param ingredients - queried ingredients
+     * @param match - whether recipe must use all or any of queried ingredients
+     */
+    public ContentVersion getSearchVersionByIngredients(List<String> ingredients, IngredientMatch match) {
+        return ingredientIndex.version(ingredients, match);
     }
 
     /**
-     * Retrieve list of recipes either by recipe category
+     * Retrieve page of recipes by recipe category
+     * Ids of the page are read from index on category and date, recipes are taken from read model.
+     * Served from {@value #CATEGORY_SEARCH_CACHE} cache while category version doesn't change,
+     * see {@link CategoryVersions}
      * @param category
+     * @param after - position to continue search from, or null for the first page
+     * @param size - requested page size, or null for default page size
+     */
+    @Cacheable(cacheNames = CATEGORY_SEARCH_CACHE, key = "@categoryVersions.pageKey(#category, #after, #size)")
+    @Transactional(readOnly = true)
+    public RecipesPage searchRecipesByCategory(String category, SearchCursor after, Integer size) {
+        String categoryKey = RecipeEntity.toCategoryKey(category);
+        Pageable pageable = PageRequest.ofSize(pageSize(size));
+        Slice<Long> ids = after == null
+                ? repository.findIdsByCategoryKey(categoryKey, pageable)
+                : repository.findIdsByCategoryKeyAfter(categoryKey, after.getDate(), after.getId(), pageable);
+        return toRecipesPage(readModel.getAll(ids.getContent()), ids.hasNext());
+    }
+
+    /**
+     * Convert page of recipes to DTO, pointing cursor to the last recipe if there are more results
+     * @param recipes - recipes of current page
+     * @param hasNext - whether there are recipes after current page
+     */
+    private RecipesPage toRecipesPage(List<RecipeView> recipes, boolean hasNext) {
+        List<GetRecipeResponse> recipesDto = recipes.stream().map(mapper::toGetRecipeResponse).collect(Collectors.toList());
+        String nextCursor = hasNext && !recipes.isEmpty()
+                ? SearchCursor.after(recipes.get(recipes.size() - 1)).encode()
+                : null;
+        List<Long> ids = recipes.stream().map(RecipeView::getId).toList();
+        return new RecipesPage(recipesDto, ids, nextCursor);
+    }
+
+    /**
+     * Bound requested page size with configured limits
+     * @param size - requested page size, or null for default page size
+     */
+    private int pageSize(Integer size) {
+        if (size == null) {
+            return searchProperties.getDefaultPageSize();
+        }
+        return Math.max(1, Math.min(size, searchProperties.getMaxPageSize()));
+    }
+
+    /**
+     * Build LIKE pattern matching names which contain specified text literally
+     * @param text - text to search for
      */
-    public List<GetRecipeResponse> searchRecipesByCategory(String category) {
-        List<RecipeEntity> recipeEntities = repository.findByCategoryIgnoreCaseOrderByDateDesc(category);
-        List<GetRecipeResponse> recipesDto = recipeEntities.stream().map(mapper::toGetRecipeResponse).collect(Collectors.toList());
-        return recipesDto;
+    private static String containingPattern(String text) {
+        String escaped = text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
     }
 }
@@ -1,11 +1,13 @@
 package recipes.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import recipes.config.MetricsConfig;
 import recipes.exception.UserAlreadyExistsException;
 import recipes.dto.request.RegisterUserRequest;
 import recipes.entity.UserEntity;
@@ -20,6 +22,7 @@ import recipes.adapter.UserEntityAdapter;
  */
 @AllArgsConstructor
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class UserService implements UserDetailsService {
 
     private UserRepository userRepository;
@@ -71,4 +74,14 @@ public class UserService implements UserDetailsService {
         return userRepository.findUserByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Username not found in DB"));
     }
+
+    /**
+     * Retrieve reference to user with specified id without loading it from DB
+     * Used to set user as an author of recipe
+     * @param id - user id
+     * @return uninitialized user entity proxy
+     */
+    public UserEntity getUserReference(long id) {
+        return userRepository.getReferenceById(id);
+    }
 }
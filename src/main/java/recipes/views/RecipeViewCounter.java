@@ -0,0 +1,280 @@
+package recipes.views;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import recipes.config.ViewCounterProperties;
+import recipes.entity.RecipeEntity;
+import recipes.event.RecipeDeletedEvent;
+import recipes.event.RecipeUpdatedEvent;
+import recipes.readmodel.RecipeReadModel;
+import recipes.readmodel.RecipeView;
+import recipes.repository.RecipeViewsRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts recipe views and keeps rankings of the most viewed recipes, overall and per category
+ * <p>
+ * Views are counted in memory by a {@link LongAdder} per recipe, so concurrent views of the same recipe
+ * update striped cells instead of contending on a single counter, and counting never touches DB.
+ * Counted views are flushed to {@code RECIPE_VIEWS} table every {@code recipes.views.flush-interval},
+ * all recipes viewed since the previous flush in a single batch, see {@link #flush()}.
+ * Views not flushed yet are flushed on shutdown.
+ * </p>
+ * <p>
+ * Rankings are updated with the views of every flush, so they lag behind views by at most one flush interval.
+ * Views only grow, so a recipe enters a ranking once it outranks the last ranked recipe, and rankings stay
+ * exact without looking at other recipes. A ranking is rebuilt from view totals only when one of its recipes
+ * is deleted or moves to another category.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RecipeViewCounter {
+    public static final String FLUSH_TIMER = "recipes.views.flush";
+
+    /**
+     * Adds views of a recipe, or creates its row on the first flush; recipes deleted in the meantime are skipped
+     */
+    private static final String FLUSH_SQL = "merge into RECIPE_VIEWS v " +
+            "using (select ID, cast(? as bigint) as VIEWS from RECIPE where ID = ?) r on v.RECIPE_ID = r.ID " +
+            "when matched then update set v.VIEWS = v.VIEWS + r.VIEWS " +
+            "when not matched then insert (RECIPE_ID, VIEWS) values (r.ID, r.VIEWS)";
+
+    private final RecipeViewsRepository repository;
+    private final RecipeReadModel readModel;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ViewCounterProperties properties;
+    private final Timer flushTimer;
+    private final Object flushLock = new Object();
+
+    /**
+     * Views counted since the previous flush, entries are kept and reset by flushes
+     */
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    /*
+     * Flushed views and category of every viewed recipe, and rankings built from them, guarded by this
+     */
+    private Map<Long, Viewed> totals = new HashMap<>();
+    private RecipeViewRanking overall;
+    private Map<String, RecipeViewRanking> byCategory = new HashMap<>();
+
+    public RecipeViewCounter(RecipeViewsRepository repository,
+                             RecipeReadModel readModel,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ViewCounterProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.readModel = readModel;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.overall = new RecipeViewRanking(properties.getRankingSize());
+        this.flushTimer = Timer.builder(FLUSH_TIMER)
+                .description("Time to flush counted recipe views to DB and update rankings")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replace view totals and rankings with views stored in DB
+     */
+    @PostConstruct
+    public synchronized void rebuild() {
+        totals = new HashMap<>();
+        repository.findAllWithCategory().forEach(views ->
+                totals.put(views.getId(), new Viewed(views.getViews(), views.getCategoryKey())));
+        overall = ranking(totals);
+        byCategory = new HashMap<>();
+        Map<String, Map<Long, Viewed>> totalsByCategory = new HashMap<>();
+        totals.forEach((id, viewed) ->
+                totalsByCategory.computeIfAbsent(viewed.categoryKey, key -> new HashMap<>()).put(id, viewed));
+        totalsByCategory.forEach((categoryKey, categoryTotals) ->
+                byCategory.put(categoryKey, ranking(categoryTotals)));
+        log.info("View rankings rebuilt with {} viewed recipes", totals.size());
+    }
+
+    /**
+     * Count a view of recipe with specified id
+     * Lock-free, nothing is written to DB until the next flush.
+     * @param id - id of existing recipe
+     */
+    public void increment(long id) {
+        LongAdder views = pending.get(id);
+        if (views == null) {
+            views = pending.computeIfAbsent(id, key -> new LongAdder());
+        }
+        views.increment();
+    }
+
+    /**
+     * Write views counted since the previous flush to DB and update rankings
+     * Views that failed to be written are counted again, so they're written by the next flush.
+     * @return number of recipes whose views were flushed
+     */
+    @PreDestroy
+    public int flush() {
+        synchronized (flushLock) {
+            // every view is either in the taken sum or left for the next flush, as cells are reset one by one
+            Map<Long, Long> flushed = new TreeMap<>();
+            pending.forEach((id, views) -> {
+                long sum = views.sumThenReset();
+                if (sum > 0) {
+                    flushed.put(id, sum);
+                }
+            });
+            if (flushed.isEmpty()) {
+                return 0;
+            }
+
+            Timer.Sample sample = Timer.start();
+            try {
+                List<Object[]> rows = new ArrayList<>(flushed.size());
+                flushed.forEach((id, views) -> rows.add(new Object[]{views, id}));
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, rows));
+            } catch (RuntimeException e) {
+                flushed.forEach((id, views) -> pending.computeIfAbsent(id, key -> new LongAdder()).add(views));
+                log.warn("Unable to flush views of {} recipes, retrying with the next flush", flushed.size(), e);
+                return 0;
+            }
+            addFlushed(flushed);
+            sample.stop(flushTimer);
+            return flushed.size();
+        }
+    }
+
+    /**
+     * Retrieve the most viewed recipes, the most viewed first
+     * @param category - category of recipes, case insensitive, or null for recipes of all categories
+     * @param size - maximum number of recipes, bounded by ranking size
+     */
+    public synchronized List<RecipeViews> getMostViewed(String category, int size) {
+        RecipeViewRanking ranking = category == null
+                ? overall
+                : byCategory.get(RecipeEntity.toCategoryKey(category));
+        if (ranking == null) {
+            return List.of();
+        }
+        return ranking.top(Math.max(1, Math.min(size, properties.getRankingSize())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void on(RecipeUpdatedEvent event) {
+        RecipeView recipe = event.getRecipe();
+        Viewed viewed = totals.get(recipe.getId());
+        String categoryKey = RecipeEntity.toCategoryKey(recipe.getCategory());
+        if (viewed == null || Objects.equals(viewed.categoryKey, categoryKey)) {
+            return;
+        }
+
+        String previousCategoryKey = viewed.categoryKey;
+        viewed.categoryKey = categoryKey;
+        rerank(recipe.getId(), previousCategoryKey);
+        categoryRanking(categoryKey).offer(recipe.getId(), viewed.views);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void on(RecipeDeletedEvent event) {
+        pending.remove(event.getId());
+        Viewed viewed = totals.remove(event.getId());
+        if (viewed == null) {
+            return;
+        }
+        if (overall.contains(event.getId())) {
+            overall = ranking(totals);
+        }
+        rerank(event.getId(), viewed.categoryKey);
+    }
+
+    /**
+     * Add flushed views to totals and offer changed totals to rankings
+     * @param flushed - flushed views by recipe id
+     */
+    private synchronized void addFlushed(Map<Long, Long> flushed) {
+        flushed.forEach((id, views) -> {
+            Viewed viewed = totals.get(id);
+            if (viewed == null) {
+                Optional<RecipeView> recipe = readModel.get(id);
+                if (recipe.isEmpty()) {
+                    // deleted since it was viewed
+                    pending.remove(id);
+                    return;
+                }
+                viewed = new Viewed(0, RecipeEntity.toCategoryKey(recipe.get().getCategory()));
+                totals.put(id, viewed);
+            }
+            viewed.views += views;
+            overall.offer(id, viewed.views);
+            categoryRanking(viewed.categoryKey).offer(id, viewed.views);
+        });
+    }
+
+    /**
+     * Rebuild ranking of specified category if it contains recipe which left the category
+     */
+    private void rerank(long id, String categoryKey) {
+        RecipeViewRanking ranking = byCategory.get(categoryKey);
+        if (ranking == null || !ranking.contains(id)) {
+            return;
+        }
+        Map<Long, Viewed> categoryTotals = new HashMap<>();
+        totals.forEach((otherId, viewed) -> {
+            if (Objects.equals(viewed.categoryKey, categoryKey)) {
+                categoryTotals.put(otherId, viewed);
+            }
+        });
+        RecipeViewRanking rebuilt = ranking(categoryTotals);
+        if (rebuilt.isEmpty()) {
+            byCategory.remove(categoryKey);
+        } else {
+            byCategory.put(categoryKey, rebuilt);
+        }
+    }
+
+    private RecipeViewRanking categoryRanking(String categoryKey) {
+        return byCategory.computeIfAbsent(categoryKey, key -> new RecipeViewRanking(properties.getRankingSize()));
+    }
+
+    private RecipeViewRanking ranking(Map<Long, Viewed> recipes) {
+        RecipeViewRanking ranking = new RecipeViewRanking(properties.getRankingSize());
+        recipes.forEach((id, viewed) -> ranking.offer(id, viewed.views));
+        return ranking;
+    }
+
+    /**
+     * Number of views of a recipe
+     * @param id - recipe id
+     * @param views - views flushed to DB
+     */
+    public record RecipeViews(long id, long views) {
+    }
+
+    /**
+     * Flushed views and category of a viewed recipe
+     */
+    private static class Viewed {
+        long views;
+        String categoryKey;
+
+        Viewed(long views, String categoryKey) {
+            this.views = views;
+            this.categoryKey = categoryKey;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package recipes.views;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Bounded ranking of the most viewed recipes, the most viewed first, ties broken by older recipe id
+ * <p>
+ * Not thread-safe, guarded by {@link RecipeViewCounter}.
+ * Views of a recipe only grow, so offering every change of views keeps the ranking exact:
+ * a recipe outside of the ranking enters it once it outranks the last ranked recipe, which is dropped.
+ * </p>
+ */
+class RecipeViewRanking {
+    private static final Comparator<RecipeViewCounter.RecipeViews> MOST_VIEWED_FIRST =
+            Comparator.comparingLong(RecipeViewCounter.RecipeViews::views).reversed()
+                    .thenComparingLong(RecipeViewCounter.RecipeViews::id);
+
+    private final int capacity;
+    private final TreeSet<RecipeViewCounter.RecipeViews> ranked = new TreeSet<>(MOST_VIEWED_FIRST);
+    private final Map<Long, RecipeViewCounter.RecipeViews> byId = new HashMap<>();
+
+    RecipeViewRanking(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Rank recipe by its current views
+     * @param id - recipe id
+     * @param views - total views of the recipe, not less than previously offered
+     */
+    void offer(long id, long views) {
+        RecipeViewCounter.RecipeViews offered = new RecipeViewCounter.RecipeViews(id, views);
+        RecipeViewCounter.RecipeViews previous = byId.remove(id);
+        if (previous != null) {
+            ranked.remove(previous);
+        } else if (ranked.size() >= capacity) {
+            RecipeViewCounter.RecipeViews last = ranked.last();
+            if (MOST_VIEWED_FIRST.compare(offered, last) > 0) {
+                return;
+            }
+            ranked.pollLast();
+            byId.remove(last.id());
+        }
+        ranked.add(offered);
+        byId.put(id, offered);
+    }
+
+    boolean contains(long id) {
+        return byId.containsKey(id);
+    }
+
+    boolean isEmpty() {
+        return ranked.isEmpty();
+    }
+
+    /**
+     * Retrieve the most viewed recipes
+     * @param size - maximum number of recipes
+     */
+    List<RecipeViewCounter.RecipeViews> top(int size) {
+        List<RecipeViewCounter.RecipeViews> top = new ArrayList<>(Math.min(size, ranked.size()));
+        for (RecipeViewCounter.RecipeViews views : ranked) {
+            if (top.size() == size) {
+                break;
+            }
+            top.add(views);
+        }
+        return top;
+    }
+}
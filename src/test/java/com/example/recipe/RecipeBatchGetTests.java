@@ -0,0 +1,86 @@
+package com.example.recipe;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import recipes.controller.RecipesController;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.request.UpdateRecipeRequest;
+import recipes.dto.response.RecipesBatch;
+import recipes.exception.InvalidParametersCountException;
+import recipes.exception.InvalidRecipeIdsException;
+import recipes.exception.RecipesControllerExceptionHandler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RecipeBatchGetTests extends RecipeServiceTestBase {
+    @Autowired
+    RecipesController controller;
+
+    @Test
+    void recipesKeepRequestedOrderAndMissingIdsAreReported() {
+        long tea = create("Mint Tea");
+        long cake = create("Honey Cake");
+        long soup = create("Tomato Soup");
+
+        RecipesBatch batch = recipesService.getRecipesByIds(List.of(soup, -1L, tea, cake, tea, -2L));
+
+        assertEquals(List.of(soup, tea, cake), batch.getRecipes().stream().map(RecipesBatch.Item::getId).toList());
+        assertEquals(List.of("Tomato Soup", "Mint Tea", "Honey Cake"),
+                batch.getRecipes().stream().map(item -> item.getRecipe().getName()).toList());
+        assertEquals(List.of(-1L, -2L), batch.getMissing());
+    }
+
+    @Test
+    void versionChangesWhenRequestedRecipesChangeOrOrder() {
+        long tea = create("Mint Tea");
+        long cake = create("Honey Cake");
+        List<Long> ids = List.of(tea, cake);
+        String tag = recipesService.getBatchVersionOf(recipesService.getRecipesByIds(ids)).getETag();
+        assertNotEquals(tag, recipesService.getBatchVersionOf(
+                recipesService.getRecipesByIds(List.of(cake, tea))).getETag());
+
+        recipesService.updateRecipe(new UpdateRecipeRequest("Ginger Tea", "beverage", "Tea",
+                List.of("ginger"), List.of("Brew")), tea, author);
+        RecipesBatch updated = recipesService.getRecipesByIds(ids);
+        assertEquals("Ginger Tea", updated.getRecipes().get(0).getRecipe().getName());
+        assertNotEquals(tag, recipesService.getBatchVersionOf(updated).getETag());
+
+        recipesService.deleteRecipeById(cake, author);
+        assertEquals(List.of(cake), recipesService.getRecipesByIds(ids).getMissing());
+    }
+
+    @Test
+    void emptyIdsAreRejected() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new RecipesControllerExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/api/recipe/batch").param("ids", "1,,2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("'ids' must not contain empty ids."));
+        assertThrows(InvalidRecipeIdsException.class, () -> recipesService.getRecipesByIds(Arrays.asList(1L, null)));
+    }
+
+    @Test
+    void tooManyIdsAreRejected() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        assertThrows(InvalidParametersCountException.class, () -> recipesService.getRecipesByIds(ids));
+    }
+
+    private long create(String name) {
+        return recipesService.createRecipe(new CreateRecipeRequest(name, "dish", name,
+                List.of("water"), List.of("Cook")), author).getId();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.recipe;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import recipes.RecipesApplication;
+import recipes.adapter.UserEntityAdapter;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.entity.RecipeEntity;
+import recipes.entity.UserEntity;
+import recipes.migration.RecipeCategoryKeyMigration;
+import recipes.pagination.SearchCursor;
+import recipes.repository.UserRepository;
+import recipes.service.RecipesService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = RecipesApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipe-category-index",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.recipe.RecipeCategoryIndexTests$CapturingStatementInspector"
+})
+@DirtiesContext
+class RecipeCategoryIndexTests {
+    @Autowired
+    RecipesService recipesService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    RecipeCategoryKeyMigration migration;
+
+    @BeforeEach
+    void seedRecipes() {
+        if (userRepository.count() > 0) {
+            return;
+        }
+        UserEntity author = userRepository.save(new UserEntity(null, "author@mail.com", "password"));
+        for (int i = 0; i < 30; i++) {
+            CreateRecipeRequest request = new CreateRecipeRequest("Tea " + i, i % 2 == 0 ? "Beverage" : "Dessert",
+                    "Tea", List.of("water"), List.of("Boil water"));
+            recipesService.createRecipe(request, new UserEntityAdapter(author));
+        }
+    }
+
+    @Test
+    void searchByCategoryUsesCategoryKeyIndex() {
+        String plan = explainSearch(() -> recipesService.searchRecipesByCategory("BEVERAGE", null, 10));
+
+        assertTrue(plan.contains(RecipeEntity.CATEGORY_KEY_INDEX), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void nextPageOfSearchByCategoryUsesCategoryKeyIndex() {
+        SearchCursor after = new SearchCursor(LocalDateTime.now(), Long.MAX_VALUE);
+        String plan = explainSearch(() -> recipesService.searchRecipesByCategory("beverage", after, 10));
+
+        assertTrue(plan.contains(RecipeEntity.CATEGORY_KEY_INDEX), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void migrationFillsMissingCategoryKeys() {
+        jdbcTemplate.update("update RECIPE set CATEGORY_KEY = null");
+
+        migration.migrate();
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from RECIPE where CATEGORY_KEY is null", Integer.class));
+        assertEquals(List.of("beverage", "dessert"), jdbcTemplate.queryForList(
+                "select distinct CATEGORY_KEY from RECIPE order by CATEGORY_KEY", String.class));
+    }
+
+    /**
+     * Run search and explain the query it sent to DB for recipes, with parameters bound the same way
+     */
+    private String explainSearch(Runnable search) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        search.run();
+        String sql = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(statement -> statement.toLowerCase().contains("category_key=?")
+                        && statement.contains("order by"))
+                .findFirst()
+                .orElseThrow();
+
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        parameters[0] = "beverage";
+        for (int i = 1; i < parameters.length; i++) {
+            parameters[i] = i == parameters.length - 1 ? 11 : null;
+        }
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, parameters));
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
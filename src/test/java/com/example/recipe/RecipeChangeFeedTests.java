@@ -0,0 +1,161 @@
+package com.example.recipe;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.request.UpdateRecipeRequest;
+import recipes.dto.response.RecipeChangeResponse;
+import recipes.dto.response.RecipeChangesPage;
+import recipes.entity.RecipeChangeType;
+import recipes.feed.RecipeChangeFeed;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeChangeFeedTests extends RecipeServiceTestBase {
+    @Autowired
+    RecipeChangeFeed changeFeed;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void changesAfterCursorHoldLatestStateOfEveryChangedRecipe() {
+        long cursor = latestCursor();
+        long tea = create("Mint Tea");
+        long coffee = create("Coffee");
+        recipesService.updateRecipe(new UpdateRecipeRequest("Iced Tea", "beverage", "Cold tea",
+                List.of("tea", "ice"), List.of("Brew", "Cool")), tea, author);
+        recipesService.deleteRecipeById(coffee, author);
+
+        RecipeChangesPage page = changeFeed.getChanges(cursor, null);
+
+        assertEquals(2, page.getChanges().size());
+        RecipeChangeResponse updated = page.getChanges().get(0);
+        assertEquals(tea, updated.getId());
+        assertEquals(RecipeChangeType.UPDATED, updated.getType());
+        assertEquals("Iced Tea", updated.getRecipe().getName());
+        RecipeChangeResponse deleted = page.getChanges().get(1);
+        assertEquals(coffee, deleted.getId());
+        assertEquals(RecipeChangeType.DELETED, deleted.getType());
+        assertNull(deleted.getRecipe());
+        assertEquals(deleted.getCursor(), page.getCursor());
+        assertFalse(page.isHasMore());
+
+        RecipeChangesPage next = changeFeed.getChanges(page.getCursor(), null);
+        assertTrue(next.getChanges().isEmpty());
+        assertEquals(page.getCursor(), next.getCursor());
+    }
+
+    @Test
+    void changesArePaged() {
+        long cursor = latestCursor();
+        long first = create("Mint Tea");
+        long second = create("Coffee");
+
+        RecipeChangesPage page = changeFeed.getChanges(cursor, 1);
+        assertEquals(first, page.getChanges().get(0).getId());
+        assertTrue(page.isHasMore());
+
+        page = changeFeed.getChanges(page.getCursor(), 1);
+        assertEquals(second, page.getChanges().get(0).getId());
+        assertEquals(RecipeChangeType.CREATED, page.getChanges().get(0).getType());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void rolledBackChangesAreNotAppended() {
+        long id = create("Mango Lassi");
+        long cursor = latestCursor();
+
+        inRolledBackTransaction(() -> create("Black Tea"));
+        inRolledBackTransaction(() -> {
+            recipesService.updateRecipe(new UpdateRecipeRequest("Peach Lassi", "beverage", "Tea",
+                    List.of("peach"), List.of("Brew")), id, author);
+            return null;
+        });
+        inRolledBackTransaction(() -> {
+            recipesService.deleteRecipeById(id, author);
+            return null;
+        });
+
+        assertTrue(changeFeed.getChanges(cursor, null).getChanges().isEmpty());
+    }
+
+    @Test
+    void changeIsWrittenInTransactionOfRecipe() {
+        List<Long> changesBeforeCommit = new ArrayList<>();
+
+        long id = transactionTemplate.execute(status -> {
+            long created = create("Mint Tea");
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCompletion() {
+                    // flushes changes of the transaction first
+                    changesBeforeCommit.add(entityManager.createQuery(
+                            "select count(c) from RecipeChangeEntity c where c.recipeId = :recipeId", Long.class)
+                            .setParameter("recipeId", created)
+                            .getSingleResult());
+                }
+            });
+            return created;
+        });
+
+        assertEquals(List.of(1L), changesBeforeCommit);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from RECIPE_CHANGE where RECIPE_ID = ?", Integer.class, id));
+    }
+
+    @Test
+    void recipesCreatedTogetherAreAppendedInOrder() {
+        long cursor = latestCursor();
+
+        List<Long> ids = recipesService.createRecipes(List.of(
+                new CreateRecipeRequest("Mint Tea", "beverage", "Tea", List.of("mint"), List.of("Brew")),
+                new CreateRecipeRequest("Coffee", "beverage", "Coffee", List.of("coffee"), List.of("Brew"))), author);
+
+        assertEquals(ids, changeFeed.getChanges(cursor, null).getChanges().stream()
+                .map(RecipeChangeResponse::getId)
+                .toList());
+    }
+
+    @Test
+    void recipesStoredBeforeFeedAreBackfilled() {
+        long id = create("Mint Tea");
+        long cursor = latestCursor();
+        jdbcTemplate.update("delete from RECIPE_CHANGE where RECIPE_ID = ?", id);
+
+        changeFeed.backfill();
+
+        RecipeChangesPage page = changeFeed.getChanges(cursor, null);
+        assertEquals(1, page.getChanges().size());
+        assertEquals(id, page.getChanges().get(0).getId());
+        assertEquals(RecipeChangeType.CREATED, page.getChanges().get(0).getType());
+    }
+
+    /**
+     * Cursor of the latest change, other tests sharing the feed may have appended any number of changes
+     */
+    private long latestCursor() {
+        RecipeChangesPage page = changeFeed.getChanges(0, null);
+        while (page.isHasMore()) {
+            page = changeFeed.getChanges(page.getCursor(), null);
+        }
+        return page.getCursor();
+    }
+
+    private long create(String name) {
+        return recipesService.createRecipe(new CreateRecipeRequest(name, "beverage", "Tea",
+                List.of("mint"), List.of("Brew")), author).getId();
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.recipe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import recipes.controller.RecipesController;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.request.UpdateRecipeRequest;
+import recipes.dto.response.RecipeChangeResponse;
+import recipes.dto.response.RecipeChangesPage;
+import recipes.entity.RecipeChangeType;
+import recipes.feed.RecipeChangeFeed;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class RecipeChangeStreamTests extends RecipeServiceTestBase {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    RecipesController controller;
+    @Autowired
+    RecipeChangeFeed changeFeed;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void createMockMvc() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void changesAfterCursorAreSentThenChangesAsTheyAreAppended() throws Exception {
+        long cursor = latestCursor();
+        long tea = create("Mint Tea");
+
+        MvcResult stream = stream(get("/api/recipe/changes/stream").param("cursor", String.valueOf(cursor)));
+        try {
+            List<RecipeChangeResponse> sent = awaitChanges(stream, changes -> changes.size() == 1);
+            assertEquals(tea, sent.get(0).getId());
+            assertEquals(RecipeChangeType.CREATED, sent.get(0).getType());
+
+            recipesService.updateRecipe(new UpdateRecipeRequest("Iced Tea", "beverage", "Cold tea",
+                    List.of("tea", "ice"), List.of("Brew", "Cool")), tea, author);
+
+            sent = awaitChanges(stream, changes -> changes.size() == 2);
+            assertEquals(tea, sent.get(1).getId());
+            assertEquals(RecipeChangeType.UPDATED, sent.get(1).getType());
+            assertEquals("Iced Tea", sent.get(1).getRecipe().getName());
+            assertTrue(stream.getResponse().getContentAsString().contains("id:" + sent.get(1).getCursor() + "\n"));
+        } finally {
+            close(stream);
+        }
+    }
+
+    @Test
+    void reconnectingStreamContinuesAfterLastEventId() throws Exception {
+        long cursor = latestCursor();
+        create("Mint Tea");
+        long coffee = create("Coffee");
+        long lastEventId = changeFeed.getChanges(cursor, 1).getCursor();
+
+        MvcResult stream = stream(get("/api/recipe/changes/stream")
+                .param("cursor", String.valueOf(cursor))
+                .header("Last-Event-ID", lastEventId));
+        try {
+            List<RecipeChangeResponse> sent = awaitChanges(stream, changes -> !changes.isEmpty());
+            assertEquals(List.of(coffee), sent.stream().map(RecipeChangeResponse::getId).toList());
+        } finally {
+            close(stream);
+        }
+    }
+
+    @Test
+    void changesAppendedWhileSendingAreSentOnceInOrder() throws Exception {
+        long cursor = latestCursor();
+        MvcResult stream = stream(get("/api/recipe/changes/stream").param("cursor", String.valueOf(cursor)));
+        try {
+            // every change wakes the stream, most of them while it is still sending earlier ones
+            List<Long> created = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                created.add(create("Tea " + i));
+            }
+
+            List<RecipeChangeResponse> sent = awaitChanges(stream, changes -> changes.size() >= created.size());
+            assertEquals(created, sent.stream().map(RecipeChangeResponse::getId).toList());
+            for (int i = 1; i < sent.size(); i++) {
+                assertTrue(sent.get(i - 1).getCursor() < sent.get(i).getCursor());
+            }
+        } finally {
+            close(stream);
+        }
+    }
+
+    @Test
+    void completedStreamIsUnsubscribed() throws Exception {
+        double subscribers = subscribers();
+        MvcResult stream = stream(get("/api/recipe/changes/stream").param("cursor", String.valueOf(latestCursor())));
+        assertEquals(subscribers + 1, subscribers());
+
+        close(stream);
+
+        assertEquals(subscribers, subscribers());
+    }
+
+    private MvcResult stream(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    /**
+     * Complete the request the way a disconnecting client does
+     */
+    private void close(MvcResult stream) {
+        stream.getRequest().getAsyncContext().complete();
+    }
+
+    /**
+     * Wait until changes sent by the stream so far satisfy the condition
+     */
+    private List<RecipeChangeResponse> awaitChanges(MvcResult stream, Predicate<List<RecipeChangeResponse>> condition)
+            throws Exception {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        List<RecipeChangeResponse> changes = sentChanges(stream.getResponse());
+        while (!condition.test(changes)) {
+            if (System.nanoTime() > deadline) {
+                fail("Stream sent " + changes);
+            }
+            Thread.sleep(10);
+            changes = sentChanges(stream.getResponse());
+        }
+        return changes;
+    }
+
+    /**
+     * Parse complete events written to response so far
+     */
+    private List<RecipeChangeResponse> sentChanges(MockHttpServletResponse response) throws IOException {
+        String content = response.getContentAsString();
+        List<RecipeChangeResponse> changes = new ArrayList<>();
+        for (String event : content.substring(0, content.lastIndexOf("\n\n") + 1).split("\n\n")) {
+            for (String line : event.split("\n")) {
+                if (line.startsWith("data:")) {
+                    changes.add(objectMapper.readValue(line.substring("data:".length()), RecipeChangeResponse.class));
+                }
+            }
+        }
+        return changes;
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("recipes.changes.subscribers").gauge().value();
+    }
+
+    private long latestCursor() {
+        RecipeChangesPage page = changeFeed.getChanges(0, null);
+        while (page.isHasMore()) {
+            page = changeFeed.getChanges(page.getCursor(), null);
+        }
+        return page.getCursor();
+    }
+
+    private long create(String name) {
+        return recipesService.createRecipe(new CreateRecipeRequest(name, "beverage", "Tea",
+                List.of("mint"), List.of("Brew")), author).getId();
+    }
+}
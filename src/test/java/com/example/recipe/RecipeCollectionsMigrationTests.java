@@ -0,0 +1,77 @@
+package com.example.recipe;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.response.GetRecipeResponse;
+import recipes.exception.RecipeNotFoundException;
+import recipes.migration.RecipeCollectionsMigration;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecipeCollectionsMigrationTests extends RecipeServiceTestBase {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    RecipeCollectionsMigration migration;
+
+    @Test
+    void migratedRecipesKeepItemsAndCanBeDeleted() {
+        long tea = createStoredInOldTables("Mint Tea", List.of("water", "mint", "honey"), List.of("Boil", "Steep"));
+        long soup = createStoredInOldTables("Tomato Soup", List.of("tomato"), List.of("Cook"));
+
+        migration.migrate();
+
+        GetRecipeResponse migrated = recipesService.getRecipeResponseById(tea);
+        assertEquals(List.of("water", "mint", "honey"), migrated.getIngredients());
+        assertEquals(List.of("Boil", "Steep"), migrated.getDirections());
+        // old tables are kept with their rows
+        assertEquals(2, countTables("RECIPE_ENTITY_INGREDIENTS", "RECIPE_ENTITY_DIRECTIONS"));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "select count(*) from RECIPE_ENTITY_INGREDIENTS where RECIPE_ENTITY_ID = ?", Integer.class, tea));
+
+        recipesService.deleteRecipeById(tea, author);
+        recipesService.deleteRecipeById(soup, author);
+        assertThrows(RecipeNotFoundException.class, () -> recipesService.getRecipeResponseById(tea));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from RECIPE where ID in (?, ?)", Integer.class, tea, soup));
+
+        // nothing left to migrate nor foreign keys to drop
+        migration.migrate();
+    }
+
+    /**
+     * Create recipe the way previous versions stored it: without inline lists, its items in old tables
+     * referencing it by foreign keys
+     */
+    private long createStoredInOldTables(String name, List<String> ingredients, List<String> directions) {
+        jdbcTemplate.execute("create table if not exists RECIPE_ENTITY_INGREDIENTS (" +
+                "RECIPE_ENTITY_ID bigint not null, INGREDIENTS varchar(255), " +
+                "foreign key (RECIPE_ENTITY_ID) references RECIPE (ID))");
+        jdbcTemplate.execute("create table if not exists RECIPE_ENTITY_DIRECTIONS (" +
+                "RECIPE_ENTITY_ID bigint not null, DIRECTIONS varchar(255), " +
+                "foreign key (RECIPE_ENTITY_ID) references RECIPE (ID))");
+
+        long id = recipesService.createRecipe(new CreateRecipeRequest(name, "Dinner", name,
+                List.of("placeholder"), List.of("placeholder")), author).getId();
+        jdbcTemplate.update("update RECIPE set INGREDIENTS = null, DIRECTIONS = null where ID = ?", id);
+        ingredients.forEach(ingredient -> jdbcTemplate.update(
+                "insert into RECIPE_ENTITY_INGREDIENTS (RECIPE_ENTITY_ID, INGREDIENTS) values (?, ?)", id, ingredient));
+        directions.forEach(direction -> jdbcTemplate.update(
+                "insert into RECIPE_ENTITY_DIRECTIONS (RECIPE_ENTITY_ID, DIRECTIONS) values (?, ?)", id, direction));
+        return id;
+    }
+
+    private int countTables(String... tables) {
+        int count = 0;
+        for (String table : tables) {
+            count += jdbcTemplate.queryForObject(
+                    "select count(*) from INFORMATION_SCHEMA.TABLES where TABLE_NAME = ?", Integer.class, table);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.recipe;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.annotation.DirtiesContext;
+import recipes.RecipesApplication;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.entity.RecipeEntity;
+import recipes.entity.UserEntity;
+import recipes.repository.RecipeRepository;
+import recipes.repository.UserRepository;
+import recipes.service.RecipesService;
+import recipes.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(classes = RecipesApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipe-create-query-count",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DirtiesContext
+class RecipeCreateQueryCountTests {
+    @Autowired
+    RecipesService recipesService;
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    RecipeRepository recipeRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void createRecipeDoesNotLoadAuthor() {
+        UserEntity author = userRepository.save(new UserEntity(null, "author@mail.com", "password"));
+        UserDetails details = userService.loadUserByUsername(author.getUsername());
+        CreateRecipeRequest request = new CreateRecipeRequest("Mint Tea", "beverage", "Refreshing",
+                List.of("boiled water", "honey", "fresh mint leaves"), List.of("Boil water", "Add mint"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long recipeId = recipesService.createRecipe(request, details).getId();
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(4, statistics.getPrepareStatementCount(),
+                "id block fetches, recipe insert with ingredients and directions, change feed insert");
+
+        RecipeEntity recipe = recipeRepository.findById(recipeId).orElseThrow();
+        assertEquals(author.getId(), recipe.getAuthor().getId());
+    }
+}
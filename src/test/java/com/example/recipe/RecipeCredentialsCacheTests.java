@@ -0,0 +1,109 @@
+package com.example.recipe;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import recipes.config.CredentialsCacheProperties;
+import recipes.security.CachingAuthenticationProvider;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeCredentialsCacheTests {
+    private static final Duration TTL = Duration.ofMillis(200);
+
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+    private final String passwordHash = bcrypt.encode("12345678");
+
+    private int userLoads;
+    private int passwordChecks;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void createProvider() {
+        UserDetailsService userDetailsService = username -> {
+            userLoads++;
+            if (!username.equals("a@b.cd")) {
+                throw new UsernameNotFoundException(username);
+            }
+            return User.withUsername(username).password(passwordHash).roles("USER").build();
+        };
+        PasswordEncoder passwordEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                passwordChecks++;
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+        CredentialsCacheProperties properties = new CredentialsCacheProperties();
+        properties.setTtl(TTL);
+        provider = new CachingAuthenticationProvider(userDetailsService, passwordEncoder, properties);
+    }
+
+    @Test
+    void verifiedCredentialsSkipDbAndPasswordEncoder() {
+        Authentication first = provider.authenticate(credentials("a@b.cd", "12345678"));
+        Authentication second = provider.authenticate(credentials("a@b.cd", "12345678"));
+
+        assertEquals(1, userLoads);
+        assertEquals(1, passwordChecks);
+        assertTrue(second.isAuthenticated());
+        assertEquals("a@b.cd", ((UserDetails) second.getPrincipal()).getUsername());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+    }
+
+    @Test
+    void wrongPasswordOfCachedUserIsVerifiedAndRejected() {
+        provider.authenticate(credentials("a@b.cd", "12345678"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("a@b.cd", "87654321")));
+        assertEquals(2, userLoads);
+        assertEquals(2, passwordChecks);
+
+        // correct password is still accepted from the cache
+        provider.authenticate(credentials("a@b.cd", "12345678"));
+        assertEquals(2, passwordChecks);
+    }
+
+    @Test
+    void credentialsAreVerifiedAgainAfterTtl() throws InterruptedException {
+        provider.authenticate(credentials("a@b.cd", "12345678"));
+
+        Thread.sleep(TTL.multipliedBy(2).toMillis());
+
+        provider.authenticate(credentials("a@b.cd", "12345678"));
+        assertEquals(2, userLoads);
+        assertEquals(2, passwordChecks);
+    }
+
+    @Test
+    void evictedCredentialsAreVerifiedAgain() {
+        provider.authenticate(credentials("a@b.cd", "12345678"));
+
+        provider.evict("a@b.cd");
+
+        provider.authenticate(credentials("a@b.cd", "12345678"));
+        assertEquals(2, userLoads);
+        assertEquals(2, passwordChecks);
+    }
+
+    private static Authentication credentials(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
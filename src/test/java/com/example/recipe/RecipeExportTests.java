@@ -0,0 +1,99 @@
+package com.example.recipe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.request.UpdateRecipeRequest;
+import recipes.dto.response.GetRecipeResponse;
+import recipes.service.RecipeExportService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeExportTests extends RecipeServiceTestBase {
+    /**
+     * More recipes than export holds in persistence context at once
+     */
+    private static final int RECIPES = 250;
+
+    @Autowired
+    RecipeExportService exportService;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void recipesOfCategoryAreExportedAsNdjsonOrderedById() throws IOException {
+        List<String> names = IntStream.range(0, RECIPES).mapToObj(i -> String.format("Exported Stew %03d", i)).toList();
+        recipesService.createRecipes(names.stream().map(name -> recipe(name, "Exported Stews")).toList(), author);
+        recipesService.createRecipe(recipe("Exported Pie", "Exported Pies"), author);
+
+        String export = export("EXPORTED STEWS", null);
+
+        assertTrue(export.endsWith("\n"));
+        List<GetRecipeResponse> recipes = parse(export);
+        assertEquals(names, recipes.stream().map(GetRecipeResponse::getName).toList());
+        GetRecipeResponse first = recipes.get(0);
+        assertEquals("Exported Stews", first.getCategory());
+        assertEquals(List.of("beef", "carrot"), first.getIngredients());
+        assertEquals(List.of("Stew"), first.getDirections());
+        assertEquals(List.of("Exported Pie"), names(export("exported pies", null)));
+    }
+
+    @Test
+    void recipesModifiedSinceAreExported() throws IOException, InterruptedException {
+        List<Long> ids = recipesService.createRecipes(List.of(recipe("Modified Stew", "Modified Stews"),
+                recipe("Unmodified Stew", "Modified Stews"), recipe("Modified Pie", "Modified Pies")), author);
+        Thread.sleep(10);
+        LocalDateTime since = LocalDateTime.now();
+        Thread.sleep(10);
+        recipesService.updateRecipe(update("Modified Stew", "Modified Stews"), ids.get(0), author);
+        recipesService.updateRecipe(update("Modified Pie", "Modified Pies"), ids.get(2), author);
+
+        assertEquals(List.of("Modified Stew"), names(export("Modified Stews", since)));
+        assertEquals(List.of("Modified Stew", "Unmodified Stew"), names(export("Modified Stews", null)));
+        List<String> allModified = names(export(null, since));
+        assertTrue(allModified.containsAll(List.of("Modified Stew", "Modified Pie")), allModified.toString());
+        assertFalse(allModified.contains("Unmodified Stew"), allModified.toString());
+    }
+
+    private String export(String category, LocalDateTime modifiedSince) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportRecipes(category, modifiedSince, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse newline delimited JSON, one recipe per line
+     */
+    private List<GetRecipeResponse> parse(String export) throws IOException {
+        List<GetRecipeResponse> recipes = new ArrayList<>();
+        for (String line : export.split("\n")) {
+            if (!line.isEmpty()) {
+                recipes.add(objectMapper.readValue(line, GetRecipeResponse.class));
+            }
+        }
+        return recipes;
+    }
+
+    private List<String> names(String export) throws IOException {
+        return parse(export).stream().map(GetRecipeResponse::getName).toList();
+    }
+
+    private static CreateRecipeRequest recipe(String name, String category) {
+        return new CreateRecipeRequest(name, category, name, List.of("beef", "carrot"), List.of("Stew"));
+    }
+
+    private static UpdateRecipeRequest update(String name, String category) {
+        return new UpdateRecipeRequest(name, category, "Updated " + name, List.of("beef", "carrot"), List.of("Stew"));
+    }
+}
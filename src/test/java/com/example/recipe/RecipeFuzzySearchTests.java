@@ -0,0 +1,94 @@
+package com.example.recipe;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.request.UpdateRecipeRequest;
+import recipes.dto.response.GetRecipeResponse;
+import recipes.dto.response.RecipesPage;
+import recipes.index.RecipeTrigramIndex;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeFuzzySearchTests extends RecipeServiceTestBase {
+    @Autowired
+    RecipeTrigramIndex trigramIndex;
+
+    @Test
+    void misspelledNameFindsMostSimilarNamesFirst() {
+        create("Chicken Curry");
+        create("Chicken Soup");
+        create("Tomato Soup");
+        create("Chocolate Cake");
+
+        RecipesPage page = recipesService.searchRecipesByNameFuzzy("chiken", 10);
+
+        assertEquals(List.of("Chicken Soup", "Chicken Curry"), names(page));
+        assertNull(page.getNextCursor());
+        assertEquals(List.of("Chicken Soup"), names(recipesService.searchRecipesByNameFuzzy("chiken soop", 10)));
+    }
+
+    @Test
+    void recipesOfTheSameNameAreNewestFirstWithinLimit() {
+        long older = create("Ginger Tea");
+        long newer = create("ginger tea");
+        long other = create("Ginger Biscuits");
+
+        assertEquals(List.of(newer, older), trigramIndex.search("Ginger Tea", 0.5, 2));
+        assertEquals(List.of(newer, older, other), trigramIndex.search("Ginger Tea", 0.5, 10));
+    }
+
+    @Test
+    void indexFollowsUpdatesAndDeletes() {
+        long id = create("Lemonade");
+        assertEquals(List.of(id), trigramIndex.search("lemonad", 0.5, 10));
+
+        recipesService.updateRecipe(new UpdateRecipeRequest("Iced Coffee", "beverage", "Cold",
+                List.of("coffee"), List.of("Brew")), id, author);
+        assertTrue(trigramIndex.search("lemonad", 0.5, 10).isEmpty());
+        assertEquals(List.of(id), trigramIndex.search("iced cofee", 0.5, 10));
+
+        recipesService.deleteRecipeById(id, author);
+        assertTrue(trigramIndex.search("iced cofee", 0.5, 10).isEmpty());
+    }
+
+    @Test
+    void versionChangesWhenRankingChanges() {
+        long stew = create("Pumpkin Stew");
+        long soups = create("Pumpkin Soups");
+        long soup = create("Pumpkin Soup");
+        RecipesPage page = recipesService.searchRecipesByNameFuzzy("pumpkin soup", 2);
+        assertEquals(List.of(soup, soups), page.getIds());
+        String tag = recipesService.getSearchVersionOf(page).getETag();
+
+        // an older recipe takes the place of the deleted one, the latest date and the number of recipes stay the same
+        recipesService.deleteRecipeById(soups, author);
+        RecipesPage reranked = recipesService.searchRecipesByNameFuzzy("pumpkin soup", 2);
+        assertEquals(List.of(soup, stew), reranked.getIds());
+
+        assertEquals(recipesService.getSearchVersionOf(page).getLastModified(),
+                recipesService.getSearchVersionOf(reranked).getLastModified());
+        assertNotEquals(tag, recipesService.getSearchVersionOf(reranked).getETag());
+    }
+
+    @Test
+    void queryWithoutAlphanumericCharactersFindsNothing() {
+        create("Mint Tea");
+
+        assertTrue(trigramIndex.search("%%", 0.5, 10).isEmpty());
+    }
+
+    private long create(String name) {
+        return recipesService.createRecipe(new CreateRecipeRequest(name, "dish", "Tasty",
+                List.of("salt"), List.of("Cook")), author).getId();
+    }
+
+    private static List<String> names(RecipesPage page) {
+        return page.getRecipes().stream().map(GetRecipeResponse::getName).toList();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.recipe;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import recipes.dto.response.GetRecipeResponse;
+import recipes.dto.response.ImportRecipesResponse;
+import recipes.dto.response.ImportRecipesResponse.ImportError;
+import recipes.service.RecipeImportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeImportTests extends RecipeServiceTestBase {
+    @Autowired
+    RecipeImportService importService;
+
+    @Test
+    void jsonArrayAndNewlineDelimitedRecipesAreImported() throws IOException {
+        ImportRecipesResponse array = importRecipes("[" + recipe("Mint Tea", "Tea") + ",\n"
+                + recipe("Coffee", "Coffee") + "]");
+        ImportRecipesResponse lines = importRecipes(recipe("Cocoa", "Cocoa") + "\n"
+                + recipe("Orange Juice", "Orange Juice") + "\n");
+
+        assertEquals(2, array.getImported());
+        assertTrue(array.getErrors().isEmpty());
+        assertEquals(List.of("Mint Tea", "Coffee"), names(array.getIds()));
+        assertEquals(2, lines.getImported());
+        assertTrue(lines.getErrors().isEmpty());
+        assertEquals(List.of("Cocoa", "Orange Juice"), names(lines.getIds()));
+    }
+
+    @Test
+    void invalidRecipesAreReportedByPosition() throws IOException {
+        ImportRecipesResponse response = importRecipes(recipe("Mint Tea", "Tea") + "\n"
+                + "{\"name\": \"Coffee\", \"category\": \"beverage\", \"description\": \"Coffee\", "
+                + "\"ingredients\": [], \"directions\": [\"Brew\"]}\n"
+                + "{\"name\": \"Cocoa\", \"ingredients\": \"cocoa\"}\n"
+                + recipe("Orange Juice", "Orange Juice") + "\n");
+
+        assertEquals(List.of("Mint Tea", "Orange Juice"), names(response.getIds()));
+        assertEquals(List.of(1L, 2L), response.getErrors().stream().map(ImportError::getIndex).toList());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("ingredients "),
+                response.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void recipesRejectedByDbAreReportedAndRestOfBatchIsCreated() throws IOException {
+        // valid recipe, but too long for DESCRIPTION column
+        String tooLong = "Tea".repeat(100);
+
+        ImportRecipesResponse response = importRecipes(recipe("Mint Tea", "Tea") + "\n"
+                + recipe("Green Tea", tooLong) + "\n"
+                + recipe("Black Tea", "Tea") + "\n");
+
+        assertEquals(2, response.getImported());
+        assertEquals(List.of("Mint Tea", "Black Tea"), names(response.getIds()));
+        assertEquals(1, response.getErrors().size());
+        assertEquals(1L, response.getErrors().get(0).getIndex());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("Recipe was not saved: "),
+                response.getErrors().get(0).getMessage());
+    }
+
+    private ImportRecipesResponse importRecipes(String json) throws IOException {
+        return importService.importRecipes(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), author);
+    }
+
+    private List<String> names(List<Long> ids) {
+        return ids.stream()
+                .map(recipesService::getRecipeResponseById)
+                .map(GetRecipeResponse::getName)
+                .toList();
+    }
+
+    private static String recipe(String name, String description) {
+        return "{\"name\": \"" + name + "\", \"category\": \"beverage\", \"description\": \"" + description + "\", "
+                + "\"ingredients\": [\"water\"], \"directions\": [\"Brew\"]}";
+    }
+}
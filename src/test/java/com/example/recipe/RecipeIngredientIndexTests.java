@@ -0,0 +1,131 @@
+package com.example.recipe;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import recipes.index.IngredientMatch;
+import recipes.index.RecipeIngredientIndex;
+import recipes.pagination.SearchCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeIngredientIndexTests {
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    RecipeIngredientIndex index;
+    Map<Long, LocalDateTime> dates;
+
+    @BeforeEach
+    void createIndex() {
+        index = new RecipeIngredientIndex(null);
+        dates = new HashMap<>();
+    }
+
+    @Test
+    void pluralAndCaseDifferencesMatch() {
+        put(1, START, "2 Eggs", "Tomatoes", "Fresh berries", "A glass of water");
+
+        for (String query : List.of("egg", "EGGS", "tomato", "berry", "Berries", "glass", "waters")) {
+            assertEquals(List.of(1L), search(List.of(query), IngredientMatch.ALL, null, 10), query);
+        }
+        assertTrue(search(List.of("tomat"), IngredientMatch.ALL, null, 10).isEmpty());
+        assertTrue(search(List.of("1 2 3"), IngredientMatch.ANY, null, 10).isEmpty());
+    }
+
+    @Test
+    void allMatchesEveryWordOfEveryIngredient() {
+        put(1, START.plusMinutes(1), "olive oil", "garlic");
+        put(2, START.plusMinutes(2), "olives", "salt");
+        put(3, START.plusMinutes(3), "sunflower oil", "garlic");
+
+        assertEquals(List.of(1L), search(List.of("Olive Oil"), IngredientMatch.ALL, null, 10));
+        assertEquals(List.of(3L, 1L), search(List.of("garlic", "oil"), IngredientMatch.ALL, null, 10));
+        assertTrue(search(List.of("olive oil", "salt"), IngredientMatch.ALL, null, 10).isEmpty());
+        assertTrue(search(List.of("garlic", "saffron"), IngredientMatch.ALL, null, 10).isEmpty());
+    }
+
+    @Test
+    void anyMatchesSomeIngredient() {
+        put(1, START.plusMinutes(1), "olive oil", "garlic");
+        put(2, START.plusMinutes(2), "olives", "salt");
+        put(3, START.plusMinutes(3), "sunflower oil", "garlic");
+
+        assertEquals(List.of(2L, 1L), search(List.of("olive oil", "salt"), IngredientMatch.ANY, null, 10));
+        assertEquals(List.of(3L, 2L, 1L), search(List.of("oil", "olive"), IngredientMatch.ANY, null, 10));
+        assertEquals(List.of(2L), search(List.of("saffron", "salt"), IngredientMatch.ANY, null, 10));
+        assertEquals(2, index.version(List.of("olive oil", "salt"), IngredientMatch.ANY).getCount());
+    }
+
+    @Test
+    void walkingRecipesAndScanningMatchesReturnSamePages() {
+        // pairs of recipes share a date, so ties are broken by id
+        for (long id = 1; id <= 100; id++) {
+            put(id, START.plusMinutes(id / 2), id % 10 == 0 ? "water, saffron" : "water");
+        }
+        List<Long> allNewestFirst = newestFirst(dates.keySet().stream().toList());
+        List<Long> saffronNewestFirst = newestFirst(allNewestFirst.stream().filter(id -> id % 10 == 0).toList());
+
+        // 100 matches out of 100 recipes, a page of 3 is collected by walking recipes from the newest one
+        assertEquals(allNewestFirst, pageThrough(List.of("water"), 3));
+        // a page of 200 is collected by scanning all 100 matches
+        assertEquals(allNewestFirst, search(List.of("water"), IngredientMatch.ALL, null, 200));
+        // 10 matches out of 100 recipes, every page is collected by scanning the matches
+        assertEquals(saffronNewestFirst, pageThrough(List.of("saffron"), 3));
+        assertEquals(saffronNewestFirst, pageThrough(List.of("saffron"), 1));
+    }
+
+    @Test
+    void updatedAndRemovedRecipesAreReindexed() {
+        put(1, START.plusMinutes(1), "milk");
+        put(2, START.plusMinutes(2), "milk");
+        put(3, START.plusMinutes(3), "milk");
+
+        put(1, START.plusMinutes(4), "milk", "honey");
+        index.remove(2);
+
+        assertEquals(List.of(1L, 3L), search(List.of("milk"), IngredientMatch.ALL, null, 10));
+        assertEquals(List.of(1L), search(List.of("honey"), IngredientMatch.ALL, null, 10));
+        assertEquals(START.plusMinutes(4), index.version(List.of("milk"), IngredientMatch.ALL).getLastModified());
+        assertEquals(2, index.version(List.of("milk"), IngredientMatch.ALL).getCount());
+    }
+
+    /**
+     * Collect all matches page by page, continuing after the last recipe of every page
+     */
+    private List<Long> pageThrough(List<String> ingredients, int limit) {
+        List<Long> found = new ArrayList<>();
+        SearchCursor after = null;
+        while (true) {
+            List<Long> page = search(ingredients, IngredientMatch.ALL, after, limit);
+            assertTrue(page.size() <= limit);
+            if (page.isEmpty()) {
+                return found;
+            }
+            found.addAll(page);
+            long last = page.get(page.size() - 1);
+            after = new SearchCursor(dates.get(last), last);
+        }
+    }
+
+    private List<Long> search(List<String> ingredients, IngredientMatch match, SearchCursor after, int limit) {
+        return index.search(ingredients, match, after, limit);
+    }
+
+    private List<Long> newestFirst(List<Long> ids) {
+        return ids.stream()
+                .sorted(Comparator.comparing((Long id) -> dates.get(id)).thenComparing(id -> id).reversed())
+                .toList();
+    }
+
+    private void put(long id, LocalDateTime date, String... ingredients) {
+        dates.put(id, date);
+        index.put(id, List.of(ingredients), date);
+    }
+}
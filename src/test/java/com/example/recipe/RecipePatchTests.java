@@ -0,0 +1,185 @@
+package com.example.recipe;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import recipes.RecipesApplication;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.request.UpdateRecipeRequest;
+import recipes.dto.response.GetRecipeResponse;
+import recipes.entity.RecipeEntity;
+import recipes.exception.InvalidRecipePatchException;
+import recipes.exception.RecipeModifiedConcurrentlyException;
+import recipes.exception.RecipeNotFoundException;
+import recipes.exception.UserIsNotAuthorException;
+import recipes.repository.RecipeRepository;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = RecipesApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipe-patch",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.example.recipe.RecipePatchTests$RecipeUpdateRecorder"
+})
+@DirtiesContext
+class RecipePatchTests extends RecipeServiceTestBase {
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    RecipeRepository recipeRepository;
+
+    @BeforeEach
+    void clearRecordedUpdates() {
+        RecipeUpdateRecorder.UPDATES.clear();
+        RecipeUpdateRecorder.BEFORE_UPDATE.set(null);
+    }
+
+    @Test
+    void patchWritesOnlyChangedColumns() throws Exception {
+        long id = create();
+        GetRecipeResponse before = recipesService.getRecipeResponseById(id);
+
+        recipesService.patchRecipe(patch("{\"description\": \"Spicy tea\", \"name\": \"Warming Tea\"}"), id, author);
+
+        assertEquals(1, RecipeUpdateRecorder.UPDATES.size());
+        String update = RecipeUpdateRecorder.UPDATES.get(0);
+        assertTrue(update.contains("description="));
+        assertTrue(update.contains("date="));
+        assertFalse(update.contains("name="));
+        assertFalse(update.contains("ingredients="));
+        assertFalse(update.contains("directions="));
+        assertFalse(update.contains("category"));
+
+        GetRecipeResponse after = recipesService.getRecipeResponseById(id);
+        assertEquals("Spicy tea", after.getDescription());
+        assertEquals(before.getIngredients(), after.getIngredients());
+        assertNotEquals(before.getDate(), after.getDate());
+    }
+
+    @Test
+    void patchReplacesListsAndCategory() throws Exception {
+        long id = create();
+
+        recipesService.patchRecipe(patch("{\"category\": \"Hot Drinks\", " +
+                "\"ingredients\": [\"water\", \"ginger\", \"lemon\"]}"), id, author);
+
+        String update = RecipeUpdateRecorder.UPDATES.get(0);
+        assertTrue(update.contains("ingredients="));
+        assertTrue(update.contains("category_key="));
+        assertFalse(update.contains("directions="));
+        GetRecipeResponse recipe = recipesService.getRecipeResponseById(id);
+        assertEquals(List.of("water", "ginger", "lemon"), recipe.getIngredients());
+        assertEquals(List.of("Boil water", "Add ginger"), recipe.getDirections());
+        assertEquals(List.of("Warming Tea"), recipesService.searchRecipesByCategory("hot drinks", null, 10)
+                .getRecipes().stream().map(GetRecipeResponse::getName).toList());
+    }
+
+    @Test
+    void patchChangingNothingWritesNothing() throws Exception {
+        long id = create();
+        GetRecipeResponse before = recipesService.getRecipeResponseById(id);
+
+        recipesService.patchRecipe(patch("{\"name\": \"Warming Tea\", " +
+                "\"directions\": [\"Boil water\", \"Add ginger\"]}"), id, author);
+
+        assertTrue(RecipeUpdateRecorder.UPDATES.isEmpty());
+        assertEquals(before, recipesService.getRecipeResponseById(id));
+    }
+
+    @Test
+    void invalidPatchesAreRejected() throws Exception {
+        long id = create();
+
+        assertThrows(InvalidRecipePatchException.class,
+                () -> recipesService.patchRecipe(patch("{\"name\": null}"), id, author));
+        assertThrows(InvalidRecipePatchException.class,
+                () -> recipesService.patchRecipe(patch("{\"directions\": []}"), id, author));
+        assertThrows(InvalidRecipePatchException.class,
+                () -> recipesService.patchRecipe(patch("{\"ingredients\": {\"first\": \"water\"}}"), id, author));
+        assertThrows(InvalidRecipePatchException.class,
+                () -> recipesService.patchRecipe(patch("[\"name\"]"), id, author));
+        assertThrows(UserIsNotAuthorException.class,
+                () -> recipesService.patchRecipe(patch("{\"name\": \"Stolen Tea\"}"), id, anotherUser));
+        assertThrows(UserIsNotAuthorException.class,
+                () -> recipesService.patchRecipe(patch("{}"), id, anotherUser));
+        assertThrows(RecipeNotFoundException.class,
+                () -> recipesService.patchRecipe(patch("{}"), -1, author));
+        assertEquals("Warming Tea", recipesService.getRecipeResponseById(id).getName());
+    }
+
+    @Test
+    void patchOfRecipeUpdatedWhilePatchingFails() throws Exception {
+        long id = create();
+        // the update commits after the patch was applied to the recipe, right before the patch is written
+        RecipeUpdateRecorder.BEFORE_UPDATE.set(() -> CompletableFuture.runAsync(() -> recipesService.updateRecipe(
+                new UpdateRecipeRequest("Iced Tea", "beverage", "Cold tea", List.of("water", "ice"),
+                        List.of("Cool")), id, author)).join());
+
+        assertThrows(RecipeModifiedConcurrentlyException.class,
+                () -> recipesService.patchRecipe(patch("{\"description\": \"Spicy tea\"}"), id, author));
+
+        GetRecipeResponse recipe = recipesService.getRecipeResponseById(id);
+        RecipeEntity stored = recipeRepository.findById(id).orElseThrow();
+        assertEquals("Iced Tea", recipe.getName());
+        assertEquals("Cold tea", recipe.getDescription());
+        assertEquals(stored.getDescription(), recipe.getDescription());
+        assertEquals(stored.getDate(), recipe.getDate());
+
+        // sent again, the patch applies to the updated recipe
+        recipesService.patchRecipe(patch("{\"description\": \"Spicy tea\"}"), id, author);
+        recipe = recipesService.getRecipeResponseById(id);
+        assertEquals("Iced Tea", recipe.getName());
+        assertEquals("Spicy tea", recipe.getDescription());
+        assertEquals(List.of("water", "ice"), recipe.getIngredients());
+    }
+
+    private JsonNode patch(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+
+    private long create() {
+        long id = recipesService.createRecipe(new CreateRecipeRequest("Warming Tea", "beverage", "Tea",
+                List.of("water", "ginger"), List.of("Boil water", "Add ginger")), author).getId();
+        RecipeUpdateRecorder.UPDATES.clear();
+        return id;
+    }
+
+    /**
+     * Records update statements of recipe table
+     * Runs the action set in {@link #BEFORE_UPDATE} once, right before the next update is executed.
+     */
+    public static class RecipeUpdateRecorder implements StatementInspector {
+        static final List<String> UPDATES = new CopyOnWriteArrayList<>();
+        static final AtomicReference<Runnable> BEFORE_UPDATE = new AtomicReference<>();
+
+        @Override
+        public String inspect(String sql) {
+            String normalized = sql.toLowerCase(Locale.ROOT).replace(" ", "");
+            if (normalized.startsWith("updaterecipe") && !normalized.startsWith("updaterecipe_")) {
+                UPDATES.add(normalized);
+                Runnable action = BEFORE_UPDATE.getAndSet(null);
+                if (action != null) {
+                    action.run();
+                }
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.recipe;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.request.UpdateRecipeRequest;
+import recipes.exception.RecipeNotFoundException;
+import recipes.index.IngredientMatch;
+import recipes.readmodel.RecipeReadModel;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeReadModelTests extends RecipeServiceTestBase {
+    @Autowired
+    RecipeReadModel readModel;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void committedChangesAreApplied() {
+        long id = recipesService.createRecipe(new CreateRecipeRequest("Mint Tea", "beverage", "Tea",
+                List.of("mint"), List.of("Brew")), author).getId();
+        assertEquals("Mint Tea", readModel.get(id).orElseThrow().getName());
+
+        recipesService.updateRecipe(new UpdateRecipeRequest("Iced Tea", "beverage", "Cold tea",
+                List.of("tea", "ice"), List.of("Brew", "Cool")), id, author);
+        assertEquals(List.of("tea", "ice"), recipesService.getRecipeResponseById(id).getIngredients());
+
+        recipesService.deleteRecipeById(id, author);
+        assertTrue(readModel.get(id).isEmpty());
+        assertThrows(RecipeNotFoundException.class, () -> recipesService.getRecipeResponseById(id));
+    }
+
+    @Test
+    void rolledBackChangesAreNotApplied() {
+        long id = recipesService.createRecipe(new CreateRecipeRequest("Mango Lassi", "beverage", "Tea",
+                List.of("mango"), List.of("Brew")), author).getId();
+
+        long rolledBack = inRolledBackTransaction(() -> recipesService.createRecipe(new CreateRecipeRequest(
+                "Black Tea", "beverage", "Tea", List.of("tea"), List.of("Brew")), author).getId());
+        inRolledBackTransaction(() -> {
+            recipesService.updateRecipe(new UpdateRecipeRequest("Peach Lassi", "beverage", "Tea",
+                    List.of("peach"), List.of("Brew")), id, author);
+            return null;
+        });
+        inRolledBackTransaction(() -> {
+            recipesService.deleteRecipeById(id, author);
+            return null;
+        });
+
+        assertTrue(readModel.get(rolledBack).isEmpty());
+        assertEquals("Mango Lassi", recipesService.getRecipeResponseById(id).getName());
+        assertEquals(List.of("mango"), recipesService.getRecipeResponseById(id).getIngredients());
+
+        // search indexes keep the committed recipe too
+        assertTrue(nameSearch("Mango Lassi").contains(id));
+        assertFalse(nameSearch("Peach Lassi").contains(id));
+        assertFalse(nameSearch("Black Tea").contains(rolledBack));
+        assertTrue(ingredientSearch("mango").contains(id));
+        assertFalse(ingredientSearch("peach").contains(id));
+        assertTrue(recipesService.searchRecipesByNameFuzzy("mango las", 100).getIds().contains(id));
+        assertFalse(recipesService.searchRecipesByNameFuzzy("peach las", 100).getIds().contains(id));
+    }
+
+    @Test
+    void rebuildReplacesModelWithRecipesStoredInDb() {
+        long id = recipesService.createRecipe(new CreateRecipeRequest("Mint Tea", "beverage", "Tea",
+                List.of("mint"), List.of("Brew")), author).getId();
+        jdbcTemplate.update("update RECIPE set NAME = 'Green Tea' where ID = ?", id);
+        assertEquals("Mint Tea", readModel.get(id).orElseThrow().getName());
+
+        int rebuilt = readModel.rebuild();
+
+        assertEquals(jdbcTemplate.queryForObject("select count(*) from RECIPE", Integer.class), rebuilt);
+        assertEquals("Green Tea", readModel.get(id).orElseThrow().getName());
+    }
+
+    @Test
+    void lagOfAppliedChangesIsRecorded() {
+        long applied = meterRegistry.get(RecipeReadModel.LAG_TIMER).timer().count();
+
+        recipesService.createRecipe(new CreateRecipeRequest("Mint Tea", "beverage", "Tea",
+                List.of("mint"), List.of("Brew")), author);
+
+        assertEquals(applied + 1, meterRegistry.get(RecipeReadModel.LAG_TIMER).timer().count());
+        assertEquals(applied + 1, readModel.getStatus().events());
+    }
+
+    private List<Long> nameSearch(String name) {
+        return recipesService.searchRecipesByName(name, null, 100).getIds();
+    }
+
+    private List<Long> ingredientSearch(String ingredient) {
+        return recipesService.searchRecipesByIngredients(List.of(ingredient), IngredientMatch.ALL, null, 100).getIds();
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.recipe;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import recipes.cache.RecipeResponseCache;
+import recipes.cache.SerializedRecipe;
+import recipes.cache.SerializedRecipeHttpMessageConverter;
+import recipes.config.ResponseCacheProperties;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.request.UpdateRecipeRequest;
+import recipes.dto.response.GetRecipeResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeResponseCacheTests extends RecipeServiceTestBase {
+    @Autowired
+    RecipeResponseCache cache;
+    @Autowired
+    SerializedRecipeHttpMessageConverter converter;
+    @Autowired
+    MappingJackson2HttpMessageConverter jsonConverter;
+    @Autowired
+    MappingJackson2CborHttpMessageConverter cborConverter;
+    @Autowired
+    MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    AtomicInteger loads;
+
+    @BeforeEach
+    void resetLoads() {
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void responsesAreCachedPerContentType() throws IOException {
+        long id = create();
+        LocalDateTime date = recipesService.getRecipeVersion(id).getLastModified();
+
+        byte[] json = write(converter, id, MediaType.APPLICATION_JSON).getBodyAsBytes();
+        byte[] cbor = write(converter, id, MediaType.APPLICATION_CBOR).getBodyAsBytes();
+        MockHttpOutputMessage cachedJson = write(converter, id, MediaType.APPLICATION_JSON);
+
+        assertEquals(2, loads.get());
+        assertArrayEquals(json, cachedJson.getBodyAsBytes());
+        assertEquals(json.length, cachedJson.getHeaders().getContentLength());
+        assertNotNull(cache.get(id, date, MediaType.APPLICATION_CBOR));
+        assertNotEquals(cache.get(id, date, MediaType.APPLICATION_JSON),
+                cache.get(id, date, MediaType.APPLICATION_CBOR));
+
+        GetRecipeResponse recipe = recipesService.getRecipeResponseById(id);
+        assertEquals(recipe, jsonConverter.getObjectMapper().readValue(json, GetRecipeResponse.class));
+        assertEquals(recipe, cborConverter.getObjectMapper().readValue(cbor, GetRecipeResponse.class));
+    }
+
+    @Test
+    void responseOfOutdatedRecipeIsNeverReturned() throws IOException {
+        long id = create();
+        LocalDateTime date = recipesService.getRecipeVersion(id).getLastModified();
+        byte[] outdated = write(converter, id, MediaType.APPLICATION_JSON).getBodyAsBytes();
+
+        recipesService.updateRecipe(new UpdateRecipeRequest("Mint Tea", "beverage", "Strong tea",
+                List.of("water"), List.of("Boil water")), id, author);
+        LocalDateTime updated = recipesService.getRecipeVersion(id).getLastModified();
+        assertNull(cache.get(id, date, MediaType.APPLICATION_JSON));
+
+        // a concurrent read that loaded the recipe before the update caches its response after eviction
+        cache.put(id, date, MediaType.APPLICATION_JSON, outdated);
+        assertNull(cache.get(id, updated, MediaType.APPLICATION_JSON));
+
+        String body = write(converter, id, MediaType.APPLICATION_JSON).getBodyAsString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("Strong tea"), body);
+        assertEquals(2, loads.get());
+        assertNotNull(cache.get(id, updated, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void responsesOfDeletedRecipeAreEvicted() throws IOException {
+        long id = create();
+        LocalDateTime date = recipesService.getRecipeVersion(id).getLastModified();
+        write(converter, id, MediaType.APPLICATION_JSON);
+        write(converter, id, MediaType.APPLICATION_CBOR);
+
+        recipesService.deleteRecipeById(id, author);
+
+        assertNull(cache.get(id, date, MediaType.APPLICATION_JSON));
+        assertNull(cache.get(id, date, MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void offHeapResponsesAreWrittenInChunks() throws IOException {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setOffHeap(true);
+        RecipeResponseCache offHeapCache = new RecipeResponseCache(properties, new SimpleMeterRegistry());
+        SerializedRecipeHttpMessageConverter offHeapConverter = new SerializedRecipeHttpMessageConverter(
+                offHeapCache, jsonConverter, cborConverter, smileConverter);
+        // several copy chunks long and not a multiple of chunk size
+        List<String> ingredients = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ingredients.add(i + " leaves of fresh mint, picked in the morning");
+        }
+        long id = recipesService.createRecipe(new CreateRecipeRequest("Mint Tea", "beverage", "Tea",
+                ingredients, List.of("Boil water")), author).getId();
+        LocalDateTime date = recipesService.getRecipeVersion(id).getLastModified();
+
+        byte[] serialized = write(offHeapConverter, id, MediaType.APPLICATION_JSON).getBodyAsBytes();
+        MockHttpOutputMessage cached = write(offHeapConverter, id, MediaType.APPLICATION_JSON);
+        MockHttpOutputMessage cachedAgain = write(offHeapConverter, id, MediaType.APPLICATION_JSON);
+
+        ByteBuffer buffer = offHeapCache.get(id, date, MediaType.APPLICATION_JSON);
+        assertTrue(buffer.isDirect());
+        assertEquals(1, loads.get());
+        assertTrue(serialized.length > 16384);
+        assertArrayEquals(serialized, cached.getBodyAsBytes());
+        assertArrayEquals(serialized, cachedAgain.getBodyAsBytes());
+        assertEquals(serialized.length, cached.getHeaders().getContentLength());
+        assertEquals(0, buffer.position());
+        assertEquals(recipesService.getRecipeResponseById(id),
+                jsonConverter.getObjectMapper().readValue(serialized, GetRecipeResponse.class));
+    }
+
+    /**
+     * Write response of current recipe version the way a GET of the recipe does, counting recipe loads
+     */
+    private MockHttpOutputMessage write(SerializedRecipeHttpMessageConverter converter, long id,
+                                        MediaType contentType) throws IOException {
+        SerializedRecipe recipe = new SerializedRecipe(id, recipesService.getRecipeVersion(id).getLastModified(),
+                () -> {
+                    loads.incrementAndGet();
+                    return recipesService.getRecipeResponseById(id);
+                });
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(recipe, contentType, message);
+        return message;
+    }
+
+    private long create() {
+        return recipesService.createRecipe(new CreateRecipeRequest("Mint Tea", "beverage", "Tea",
+                List.of("water", "mint"), List.of("Boil water")), author).getId();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.recipe;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.annotation.DirtiesContext;
+import recipes.RecipesApplication;
+import recipes.adapter.UserEntityAdapter;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.request.UpdateRecipeRequest;
+import recipes.dto.response.GetRecipeResponse;
+import recipes.dto.response.RecipesPage;
+import recipes.entity.UserEntity;
+import recipes.pagination.SearchCursor;
+import recipes.repository.UserRepository;
+import recipes.service.RecipesService;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = RecipesApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipe-search-query-count",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DirtiesContext
+class RecipeSearchQueryCountTests {
+    private static final int RECIPES = 60;
+
+    @Autowired
+    RecipesService recipesService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    CacheManager cacheManager;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void seedRecipes() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cacheManager.getCache(RecipesService.CATEGORY_SEARCH_CACHE).clear();
+        if (userRepository.count() > 0) {
+            return;
+        }
+
+        List<UserEntity> authors = List.of(
+                userRepository.save(new UserEntity(null, "first@mail.com", "password")),
+                userRepository.save(new UserEntity(null, "second@mail.com", "password")));
+
+        for (int i = 0; i < RECIPES; i++) {
+            UserEntity author = authors.get(i % authors.size());
+            CreateRecipeRequest request = new CreateRecipeRequest("Warming Tea " + i, "beverage", "Tea",
+                    List.of("water", "ginger", "honey"), List.of("Boil water", "Add ginger", "Add honey"));
+            recipesService.createRecipe(request, new UserEntityAdapter(author));
+        }
+    }
+
+    @Test
+    void searchByCategoryUsesConstantNumberOfStatements() {
+        assertEquals(1, statementsFor(() -> recipesService.searchRecipesByCategory("BEVERAGE", null, 10)));
+        assertEquals(1, statementsFor(() -> recipesService.searchRecipesByCategory("BEVERAGE", null, 50)));
+    }
+
+    @Test
+    void searchByNameIsServedWithoutStatements() {
+        assertEquals(0, statementsFor(() -> recipesService.searchRecipesByName("tea", null, 10)));
+        assertEquals(0, statementsFor(() -> recipesService.searchRecipesByName("tea", null, 50)));
+    }
+
+    @Test
+    void getByIdsIsServedWithoutStatements() {
+        List<Long> ids = LongStream.rangeClosed(1, 50).boxed().toList();
+
+        assertEquals(0, statementsFor(() -> recipesService.getRecipesByIds(ids.subList(0, 10))));
+        assertEquals(0, statementsFor(() -> recipesService.getRecipesByIds(ids)));
+    }
+
+    @Test
+    void nextPageUsesConstantNumberOfStatements() {
+        RecipesPage firstPage = recipesService.searchRecipesByCategory("beverage", null, 10);
+        assertNotNull(firstPage.getNextCursor());
+
+        statistics.clear();
+        RecipesPage nextPage = recipesService.searchRecipesByCategory("beverage",
+                SearchCursor.decode(firstPage.getNextCursor()), 50);
+
+        assertEquals(50, nextPage.getRecipes().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void repeatedSearchByCategoryIsServedFromCache() {
+        recipesService.searchRecipesByCategory("beverage", null, 20);
+
+        assertEquals(0, statementsFor(() -> recipesService.searchRecipesByCategory("Beverage", null, 20)));
+    }
+
+    @Test
+    void changesInCategoryInvalidateCachedSearch() {
+        UserEntityAdapter author = new UserEntityAdapter(userRepository.findUserByUsername("first@mail.com").orElseThrow());
+        assertTrue(recipesService.searchRecipesByCategory("dessert", null, 10).getRecipes().isEmpty());
+
+        long id = recipesService.createRecipe(new CreateRecipeRequest("Honey Cake", "Dessert", "Cake",
+                List.of("honey"), List.of("Bake")), author).getId();
+        assertEquals(List.of("Honey Cake"), namesOf(recipesService.searchRecipesByCategory("dessert", null, 10)));
+
+        recipesService.searchRecipesByCategory("beverage", null, 10);
+        recipesService.updateRecipe(new UpdateRecipeRequest("Honey Tea", "beverage", "Tea",
+                List.of("honey"), List.of("Brew")), id, author);
+        assertTrue(recipesService.searchRecipesByCategory("dessert", null, 10).getRecipes().isEmpty());
+        assertEquals("Honey Tea", namesOf(recipesService.searchRecipesByCategory("beverage", null, 10)).get(0));
+
+        recipesService.deleteRecipeById(id, author);
+        assertEquals("Warming Tea " + (RECIPES - 1),
+                namesOf(recipesService.searchRecipesByCategory("beverage", null, 10)).get(0));
+    }
+
+    private static List<String> namesOf(RecipesPage page) {
+        return page.getRecipes().stream().map(GetRecipeResponse::getName).toList();
+    }
+
+    private long statementsFor(Runnable search) {
+        statistics.clear();
+        search.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
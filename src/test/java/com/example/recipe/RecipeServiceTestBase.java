@@ -0,0 +1,59 @@
+package com.example.recipe;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import recipes.RecipesApplication;
+import recipes.adapter.UserEntityAdapter;
+import recipes.entity.UserEntity;
+import recipes.repository.UserRepository;
+import recipes.service.RecipesService;
+
+import java.util.function.Supplier;
+
+/**
+ * Application context and users shared by tests of recipe services
+ * <p>
+ * Tests which don't declare their own {@link SpringBootTest} run in the same application context and DB,
+ * so they must not rely on being the only ones storing recipes.
+ * </p>
+ */
+@SpringBootTest(classes = RecipesApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipe-service",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+abstract class RecipeServiceTestBase {
+    @Autowired
+    RecipesService recipesService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    UserEntityAdapter author;
+    UserEntityAdapter anotherUser;
+
+    @BeforeEach
+    void createUsers() {
+        author = user("author@mail.com");
+        anotherUser = user("another@mail.com");
+    }
+
+    /**
+     * Run action in a transaction which is rolled back once the action completes
+     * Changes of the action, including events it published, are never committed.
+     */
+    <T> T inRolledBackTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return action.get();
+        });
+    }
+
+    private UserEntityAdapter user(String username) {
+        UserEntity user = userRepository.findUserByUsername(username)
+                .orElseGet(() -> userRepository.save(new UserEntity(null, username, "password")));
+        return new UserEntityAdapter(user);
+    }
+}
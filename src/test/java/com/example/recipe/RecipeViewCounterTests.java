@@ -0,0 +1,120 @@
+package com.example.recipe;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import recipes.RecipesApplication;
+import recipes.dto.request.CreateRecipeRequest;
+import recipes.dto.request.UpdateRecipeRequest;
+import recipes.dto.response.PopularRecipeResponse;
+import recipes.views.RecipeViewCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = RecipesApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipe-view-counter",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "recipes.views.flush-interval=1h",
+        "recipes.views.ranking-size=2"
+})
+@DirtiesContext
+class RecipeViewCounterTests extends RecipeServiceTestBase {
+    @Autowired
+    RecipeViewCounter viewCounter;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentViewsAreFlushedInBatchAndRanked() throws Exception {
+        long tea = create("Mint Tea", "beverage");
+        long coffee = create("Coffee", "beverage");
+        long juice = create("Orange Juice", "beverage");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> views = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            views.add(executor.submit(() -> view(tea, 1000)));
+        }
+        for (Future<?> future : views) {
+            future.get();
+        }
+        executor.shutdown();
+        view(coffee, 3);
+        view(juice, 1);
+
+        assertEquals(3, viewCounter.flush());
+        assertEquals(4000L, persistedViews(tea));
+        assertEquals(List.of(tea, coffee), ids(recipesService.getMostViewedRecipes("Beverage", 10)));
+        assertEquals(4000, recipesService.getMostViewedRecipes("beverage", 1).get(0).getViews());
+
+        view(juice, 5);
+        assertEquals(1, viewCounter.flush());
+        assertEquals(6L, persistedViews(juice));
+        assertEquals(List.of(tea, juice), ids(recipesService.getMostViewedRecipes("beverage", 10)));
+        assertEquals(0, viewCounter.flush());
+    }
+
+    @Test
+    void rankingsFollowDeletedAndMovedRecipes() {
+        long cake = create("Honey Cake", "dessert");
+        long pie = create("Apple Pie", "dessert");
+        long pudding = create("Rice Pudding", "dessert");
+        view(cake, 30);
+        view(pie, 20);
+        view(pudding, 10);
+        viewCounter.flush();
+        assertEquals(List.of(cake, pie), ids(recipesService.getMostViewedRecipes("dessert", 10)));
+
+        recipesService.deleteRecipeById(cake, author);
+        assertEquals(List.of(pie, pudding), ids(recipesService.getMostViewedRecipes("dessert", 10)));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from RECIPE_VIEWS where RECIPE_ID = ?", Integer.class, cake));
+
+        recipesService.updateRecipe(new UpdateRecipeRequest("Apple Pie", "Pastry", "Pie",
+                List.of("apples"), List.of("Bake")), pie, author);
+        assertEquals(List.of(pudding), ids(recipesService.getMostViewedRecipes("dessert", 10)));
+        assertEquals(List.of(pie), ids(recipesService.getMostViewedRecipes("pastry", 10)));
+    }
+
+    @Test
+    void rankingsAreRebuiltFromPersistedViews() {
+        long soup = create("Tomato Soup", "soup");
+        view(soup, 7);
+        viewCounter.flush();
+        List<PopularRecipeResponse> overall = recipesService.getMostViewedRecipes(null, 10);
+
+        viewCounter.rebuild();
+
+        assertEquals(ids(overall), ids(recipesService.getMostViewedRecipes(null, 10)));
+        assertEquals(List.of(soup), ids(recipesService.getMostViewedRecipes("soup", 10)));
+        assertTrue(recipesService.getMostViewedRecipes("unknown", 10).isEmpty());
+    }
+
+    private void view(long id, int times) {
+        for (int i = 0; i < times; i++) {
+            viewCounter.increment(id);
+        }
+    }
+
+    private long persistedViews(long id) {
+        return jdbcTemplate.queryForObject("select VIEWS from RECIPE_VIEWS where RECIPE_ID = ?", Long.class, id);
+    }
+
+    private long create(String name, String category) {
+        return recipesService.createRecipe(new CreateRecipeRequest(name, category, name,
+                List.of("water"), List.of("Cook")), author).getId();
+    }
+
+    private static List<Long> ids(List<PopularRecipeResponse> recipes) {
+        return recipes.stream().map(PopularRecipeResponse::getId).toList();
+    }
+}